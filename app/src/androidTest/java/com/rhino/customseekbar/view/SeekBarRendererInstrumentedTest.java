@@ -0,0 +1,43 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.Bitmap;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests of the pixels drawn by {@link SeekBarRenderer}, run on a device because
+ * the JVM tests do not rasterize.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SeekBarRendererInstrumentedTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 100;
+    private static final int PROGRESS_COLOR = 0xFF00FF00;
+    private static final int BACKGROUND_COLOR = 0xFFFF0000;
+
+    @Test
+    public void render_drawsProgressAndBackground() {
+        SeekBarRenderer renderer = new SeekBarRenderer(InstrumentationRegistry.getTargetContext(), null,
+                WIDTH, HEIGHT, new BitmapPool());
+        renderer.edit()
+                .setMaxProgress(100)
+                .setProgressColor(PROGRESS_COLOR)
+                .setProgressBackgroundColor(BACKGROUND_COLOR)
+                .apply();
+
+        Bitmap bitmap = renderer.render(50);
+        int fill = bitmap.getPixel(WIDTH / 4, HEIGHT / 2);
+        int background = bitmap.getPixel(WIDTH * 3 / 4, HEIGHT / 2);
+
+        assertNotEquals(fill, background);
+        assertEquals(PROGRESS_COLOR, fill);
+        assertEquals(BACKGROUND_COLOR, background);
+    }
+}
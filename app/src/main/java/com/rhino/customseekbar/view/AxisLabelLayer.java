@@ -0,0 +1,247 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import java.util.HashMap;
+
+/**
+ * <p>The label layer drawn along the track of {@link CustomSeekBar}.</p>
+ * The texts are only formatted and measured for the labels tried by the layout,
+ * the labels hidden by a visible one are jumped over, so the cost follows the
+ * track length instead of the label count. The coordinates and culling are done
+ * once per layout, so drawing a frame does no text measurement.
+ **/
+class AxisLabelLayer {
+
+    private static final int MAX_WIDTH_CACHE_SIZE = 512;
+
+    private Paint mPaint;
+    private Paint.FontMetrics mFontMetrics;
+    private CustomSeekBar.LabelFormatter mFormatter;
+    private HashMap<String, Float> mWidthCache;
+    private int mStep = 0;
+    private int mMin;
+    private int mMax;
+    private boolean mIsTextDirty = true;
+
+    private String[] mTexts = new String[0];
+    private float[] mCoords = new float[0];
+    private int mVisibleCount;
+    private float mOffset;
+
+    AxisLabelLayer() {
+        mPaint = new Paint();
+        mPaint.setAntiAlias(true);
+        mFontMetrics = new Paint.FontMetrics();
+        mWidthCache = new HashMap<>();
+    }
+
+    /**
+     * Whether the labels are shown.
+     *
+     * @return true shown
+     */
+    boolean isEnabled() {
+        return mStep > 0;
+    }
+
+    /**
+     * Whether the texts changed since the last layout.
+     *
+     * @return true dirty
+     */
+    boolean isTextDirty() {
+        return mIsTextDirty;
+    }
+
+    /**
+     * Set the progress step between two labels.
+     *
+     * @param step the step, 0 to hide labels
+     * @return true changed
+     */
+    boolean setStep(int step) {
+        if (mStep == step) {
+            return false;
+        }
+        mStep = step;
+        mIsTextDirty = true;
+        return true;
+    }
+
+    /**
+     * Set the formatter of label text.
+     *
+     * @param formatter the formatter, null to show the value
+     * @return true changed
+     */
+    boolean setFormatter(CustomSeekBar.LabelFormatter formatter) {
+        if (mFormatter == formatter) {
+            return false;
+        }
+        mFormatter = formatter;
+        mIsTextDirty = true;
+        return true;
+    }
+
+    /**
+     * Set the text size of labels.
+     *
+     * @param size the text size in pixel
+     * @return true changed
+     */
+    boolean setTextSize(float size) {
+        if (mPaint.getTextSize() == size) {
+            return false;
+        }
+        mPaint.setTextSize(size);
+        mWidthCache.clear();
+        mIsTextDirty = true;
+        return true;
+    }
+
+    /**
+     * Set the text color of labels.
+     *
+     * @param color color
+     * @return true changed
+     */
+    boolean setColor(int color) {
+        if (mPaint.getColor() == color) {
+            return false;
+        }
+        mPaint.setColor(color);
+        return true;
+    }
+
+    /**
+     * Set the progress range of labels.
+     *
+     * @param min the min progress
+     * @param max the max progress
+     */
+    void setRange(int min, int max) {
+        if (mMin != min || mMax != max) {
+            mMin = min;
+            mMax = max;
+            mIsTextDirty = true;
+        }
+    }
+
+    /**
+     * Return the size of labels across the track, the text height if horizontal,
+     * or the wider text of the first and last label if vertical.
+     *
+     * @param horizontal true the labels are placed along x, false along y
+     * @return the size in pixel
+     */
+    float getTextExtent(boolean horizontal) {
+        if (horizontal) {
+            mPaint.getFontMetrics(mFontMetrics);
+            return mFontMetrics.descent - mFontMetrics.ascent;
+        }
+        if (mStep <= 0 || mMax < mMin) {
+            return 0;
+        }
+        int last = mMin + (mMax - mMin) / mStep * mStep;
+        return Math.max(mPaint.measureText(format(mMin)), mPaint.measureText(format(last)));
+    }
+
+    int getStep() {
+        return mStep;
+    }
+
+    /**
+     * Choose the visible labels greedily, a label is skipped if it overlaps the last visible one.
+     * After a label the layout jumps to the first one which could fit if it has the same size,
+     * so the labels between are never formatted.
+     *
+     * @param horizontal true the labels are placed along x, false along y
+     * @param offset     the distance between the track and the labels
+     * @param gap        the min space between two labels
+     * @param first      the index of first label in visible range
+     * @param last       the index of last label in visible range
+     * @param firstCoord the coordinate of first label
+     * @param stepCoord  the coordinate distance between two labels, negative if decreasing
+     */
+    void layout(boolean horizontal, float offset, float gap, int first, int last,
+                float firstCoord, float stepCoord) {
+        mIsTextDirty = false;
+        mPaint.getFontMetrics(mFontMetrics);
+        mPaint.setTextAlign(horizontal ? Paint.Align.CENTER : Paint.Align.LEFT);
+        float textHeight = mFontMetrics.descent - mFontMetrics.ascent;
+        mOffset = horizontal ? offset - mFontMetrics.ascent : offset;
+
+        mVisibleCount = 0;
+        if (mStep <= 0 || mMax < mMin) {
+            return;
+        }
+        last = Math.min(last, (mMax - mMin) / mStep);
+        float stepLength = Math.abs(stepCoord);
+        float lastEnd = 0;
+        int i = Math.max(0, first);
+        while (i <= last) {
+            String text = format(mMin + i * mStep);
+            float halfSize = (horizontal ? measureText(text) : textHeight) / 2;
+            float position = (i - first) * stepLength; // along the layout direction
+            if (mVisibleCount == 0 || position - halfSize - lastEnd >= gap) {
+                addVisible(text, firstCoord + (i - first) * stepCoord);
+                lastEnd = position + halfSize;
+            }
+            if (stepLength <= 0) {
+                break;
+            }
+            long next = first + (long) Math.ceil((lastEnd + gap + halfSize) / stepLength);
+            i = (int) Math.min(Math.max(i + 1L, next), last + 1L);
+        }
+    }
+
+    /**
+     * Draw the visible labels, the canvas origin is the center of track.
+     *
+     * @param canvas     Canvas
+     * @param horizontal true the labels are placed along x, false along y
+     */
+    void draw(Canvas canvas, boolean horizontal) {
+        float baselineShift = -(mFontMetrics.ascent + mFontMetrics.descent) / 2;
+        for (int i = 0; i < mVisibleCount; i++) {
+            if (horizontal) {
+                canvas.drawText(mTexts[i], mCoords[i], mOffset, mPaint);
+            } else {
+                canvas.drawText(mTexts[i], mOffset, mCoords[i] + baselineShift, mPaint);
+            }
+        }
+    }
+
+    private void addVisible(String text, float coord) {
+        if (mVisibleCount == mTexts.length) {
+            int capacity = Math.max(16, 2 * mVisibleCount);
+            String[] texts = new String[capacity];
+            float[] coords = new float[capacity];
+            System.arraycopy(mTexts, 0, texts, 0, mVisibleCount);
+            System.arraycopy(mCoords, 0, coords, 0, mVisibleCount);
+            mTexts = texts;
+            mCoords = coords;
+        }
+        mTexts[mVisibleCount] = text;
+        mCoords[mVisibleCount] = coord;
+        mVisibleCount++;
+    }
+
+    private float measureText(String text) {
+        Float width = mWidthCache.get(text);
+        if (null == width) {
+            if (mWidthCache.size() >= MAX_WIDTH_CACHE_SIZE) {
+                mWidthCache.clear();
+            }
+            width = mPaint.measureText(text);
+            mWidthCache.put(text, width);
+        }
+        return width;
+    }
+
+    private String format(int value) {
+        return null != mFormatter ? mFormatter.format(value) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,76 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * <p>A pool of mutable ARGB_8888 bitmaps, used by {@link SeekBarRenderer}.</p>
+ * The bitmaps are reused by size, the oldest one is recycled when the pool is full.
+ * It is thread safe.
+ **/
+public class BitmapPool {
+
+    private static final int DEFAULT_MAX_SIZE = 4;
+
+    private int mMaxSize;
+    private ArrayDeque<Bitmap> mBitmaps = new ArrayDeque<>();
+
+    public BitmapPool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public BitmapPool(int maxSize) {
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * Get a bitmap from pool, or create one if no bitmap of this size.
+     * The content of bitmap is not cleared.
+     *
+     * @param width  width
+     * @param height height
+     * @return the bitmap
+     */
+    public synchronized Bitmap acquire(int width, int height) {
+        Iterator<Bitmap> iterator = mBitmaps.iterator();
+        while (iterator.hasNext()) {
+            Bitmap bitmap = iterator.next();
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height) {
+                iterator.remove();
+                return bitmap;
+            }
+        }
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * Return a bitmap to pool, it must not be used after.
+     *
+     * @param bitmap the bitmap
+     */
+    public synchronized void release(Bitmap bitmap) {
+        if (null == bitmap || bitmap.isRecycled() || !bitmap.isMutable()
+                || Bitmap.Config.ARGB_8888 != bitmap.getConfig()) {
+            return;
+        }
+        if (mBitmaps.contains(bitmap)) {
+            return;
+        }
+        if (mBitmaps.size() >= mMaxSize) {
+            mBitmaps.removeFirst().recycle();
+        }
+        mBitmaps.addLast(bitmap);
+    }
+
+    /**
+     * Recycle all bitmaps in pool.
+     */
+    public synchronized void clear() {
+        for (Bitmap bitmap : mBitmaps) {
+            bitmap.recycle();
+        }
+        mBitmaps.clear();
+    }
+}
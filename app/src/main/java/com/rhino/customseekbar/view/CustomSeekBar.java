@@ -6,21 +6,25 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
 import android.os.Build;
 import android.support.annotation.ColorInt;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.View;
 import android.view.ViewParent;
+import android.view.animation.AnimationUtils;
 import android.view.animation.DecelerateInterpolator;
 
 import com.rhino.customseekbar.R;
 
 /**
- * <p>This is custom SeekBar with anim, support HORIZONTAL and VERTICAL.</p>
+ * <p>This is custom SeekBar with anim, support HORIZONTAL, VERTICAL and ARC.</p>
  *Follow this example:
  *
  * <pre class="prettyprint">
@@ -53,7 +57,10 @@ public class CustomSeekBar extends View {
 
     private static final int HORIZONTAL = 0;
     private static final int VERTICAL = 1;
+    private static final int ARC = 2;
     private static final int THUMB_ANIM_CANCEL_SPACE = 1000;
+    private static final int PLAYBACK_FRAME_INTERVAL = 16;
+    private static final int PLAYBACK_MAX_FRAME_DELAY = 500;
     private static final int DEFAULT_PROGRESS_BACKGROUND_COLOR = 0xFFDDDDDD;
     private static final int DEFAULT_PROGRESS_COLOR = 0xFF28AAE5;
     private static final int DEFAULT_SECTION_POINT_RADIUS = 6;
@@ -65,6 +72,24 @@ public class CustomSeekBar extends View {
     private static final int DEFAULT_PROGRESS_CORNER = 2;
     private static final int DEFAULT_PROGRESS_WIDTH = 2;
     private static final boolean DEFAULT_SECTION_POINT_ENABLE = false;
+    private static final int DEFAULT_LABEL_STEP = 0;
+    private static final int DEFAULT_LABEL_TEXT_SIZE = 12;
+    private static final int DEFAULT_LABEL_COLOR = 0xFF888888;
+    private static final int DEFAULT_LABEL_GAP = 4;
+    private static final float DEFAULT_ARC_START_ANGLE = 135f;
+    private static final float DEFAULT_ARC_SWEEP_ANGLE = 270f;
+    private static final boolean DEFAULT_ZOOM_ENABLE = false;
+    private static final int DEFAULT_HEATMAP_LOW_COLOR = 0x00FF5722;
+    private static final int DEFAULT_HEATMAP_HIGH_COLOR = 0xFFFF5722;
+    private static final float MIN_VISIBLE_SPAN = 1f;
+    private static final int VIEWPORT_PAN_DIVISOR = 20;
+    private static final float VIEWPORT_FOLLOW_MARGIN = 0.1f;
+    private static final int DIRTY_DRAW = 1;
+    private static final int DIRTY_COLOR = 1 << 1;
+    private static final int DIRTY_RANGE = 1 << 2;
+    private static final int DIRTY_LABEL = 1 << 3;
+    private static final int DIRTY_ARC = 1 << 4;
+    private static final int DIRTY_THUMB = 1 << 5;
     private int mOrientation = HORIZONTAL;
     private int mProgressBackgroundColor = DEFAULT_PROGRESS_BACKGROUND_COLOR;
     private int mProgressColor = DEFAULT_PROGRESS_COLOR;
@@ -76,9 +101,15 @@ public class CustomSeekBar extends View {
     private int mProgressCorner = DEFAULT_PROGRESS_CORNER;
     private int mProgressWidth = DEFAULT_PROGRESS_WIDTH;
     private boolean mOverspreadEnable = DEFAULT_OVERSPREAD_ENABLE;
+    private int mLabelGap = DEFAULT_LABEL_GAP;
+    private float mArcStartAngle = DEFAULT_ARC_START_ANGLE;
+    private float mArcSweepAngle = DEFAULT_ARC_SWEEP_ANGLE;
+    private boolean mZoomEnable = DEFAULT_ZOOM_ENABLE;
+    private int mHeatmapHeight = 0;
 
     private int mProgressLength;
     private int mThumbTouchOffset;
+    private int mLabelShift;
     private int mCurrProgress;
     private int mLastProgress;
 
@@ -93,6 +124,26 @@ public class CustomSeekBar extends View {
     private Rect mSectionPointRect;
     private Rect mThumbDestRect;
     private Drawable mThumbDrawable = null;
+    private AxisLabelLayer mLabelLayer;
+    private boolean mIsLabelLayoutDirty = true;
+    private HeatmapLayer mHeatmapLayer;
+    private Rect mHeatmapRect;
+
+    private float mArcRadius;
+    private RectF mArcRect;
+    private Path mArcBgPath;
+    private Paint mArcBgPaint;
+    private Paint mArcProgressPaint;
+    private float[] mArcTableX = new float[1];
+    private float[] mArcTableY = new float[1];
+    private int mArcTableWidth;
+    private int mArcTableHeight;
+    private boolean mIsArcTableDirty = true;
+
+    private boolean mIsViewportSet = false;
+    private float mVisibleStart;
+    private float mVisibleEnd;
+    private ScaleGestureDetector mScaleGestureDetector;
 
     private boolean mIsClickOnThumb = false;
     private boolean mIsClickOnProgress = false;
@@ -100,6 +151,8 @@ public class CustomSeekBar extends View {
     private boolean mIsFromUser = false;
     private boolean mIsThumbEnable = true;
     private OnProgressChangedListener mOnProgressListener;
+    private ProgressPersistence mProgressPersistence;
+    private String mProgressPersistenceKey;
 
     private boolean mThumbScaleEnable = DEFAULT_THUMB_SCALE_ENABLE;
     private ValueAnimator mValueAnimator;
@@ -108,6 +161,17 @@ public class CustomSeekBar extends View {
 
     private ValueAnimator mToDestValueAnimator;
 
+    private boolean mIsAttached = false;
+    private boolean mIsDetached = false;
+    private boolean mIsSuspended = false;
+    private boolean mIsThumbSyncPending = false;
+
+    private PlaybackClock mPlaybackClock;
+    private float mPlaybackAnchorPosition;
+    private long mPlaybackAnchorTime;
+    private float mPlaybackRate;
+    private boolean mIsPlaybackPlaying = false;
+    private boolean mIsPlaybackFrameScheduled = false;
 
     public CustomSeekBar(Context context) {
         this(context, null);
@@ -123,6 +187,13 @@ public class CustomSeekBar extends View {
     }
 
     private void init(Context context, AttributeSet attrs) {
+        mLabelLayer = new AxisLabelLayer();
+        mLabelLayer.setTextSize(sp2px(context, DEFAULT_LABEL_TEXT_SIZE));
+        mLabelLayer.setColor(DEFAULT_LABEL_COLOR);
+        mLabelGap = dip2px(context, DEFAULT_LABEL_GAP);
+        mHeatmapLayer = new HeatmapLayer();
+        int heatmapLowColor = DEFAULT_HEATMAP_LOW_COLOR;
+        int heatmapHighColor = DEFAULT_HEATMAP_HIGH_COLOR;
         if (null != attrs) {
             TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.CustomSeekBar);
             mProgressWidth = typedArray.getDimensionPixelSize(R.styleable.CustomSeekBar_csb_progress_height,
@@ -149,6 +220,24 @@ public class CustomSeekBar extends View {
             mThumbScaleEnable = typedArray.getBoolean(R.styleable.CustomSeekBar_csb_thumb_scale_enable,
                     DEFAULT_THUMB_SCALE_ENABLE);
             mOrientation = typedArray.getInt(R.styleable.CustomSeekBar_csb_orientation, HORIZONTAL);
+            mArcStartAngle = typedArray.getFloat(R.styleable.CustomSeekBar_csb_arc_start_angle,
+                    DEFAULT_ARC_START_ANGLE);
+            mArcSweepAngle = typedArray.getFloat(R.styleable.CustomSeekBar_csb_arc_sweep_angle,
+                    DEFAULT_ARC_SWEEP_ANGLE);
+            mArcSweepAngle = Math.max(Math.min(mArcSweepAngle, 360f), 1f);
+            mZoomEnable = typedArray.getBoolean(R.styleable.CustomSeekBar_csb_zoom_enable,
+                    DEFAULT_ZOOM_ENABLE);
+            mLabelLayer.setStep(typedArray.getInt(R.styleable.CustomSeekBar_csb_label_step,
+                    DEFAULT_LABEL_STEP));
+            mLabelLayer.setTextSize(typedArray.getDimensionPixelSize(R.styleable.CustomSeekBar_csb_label_text_size,
+                    sp2px(context, DEFAULT_LABEL_TEXT_SIZE)));
+            mLabelLayer.setColor(typedArray.getColor(R.styleable.CustomSeekBar_csb_label_color,
+                    DEFAULT_LABEL_COLOR));
+            heatmapLowColor = typedArray.getColor(R.styleable.CustomSeekBar_csb_heatmap_low_color,
+                    DEFAULT_HEATMAP_LOW_COLOR);
+            heatmapHighColor = typedArray.getColor(R.styleable.CustomSeekBar_csb_heatmap_high_color,
+                    DEFAULT_HEATMAP_HIGH_COLOR);
+            mHeatmapHeight = typedArray.getDimensionPixelSize(R.styleable.CustomSeekBar_csb_heatmap_height, 0);
 
             typedArray.recycle();
         }
@@ -170,10 +259,28 @@ public class CustomSeekBar extends View {
         mProgressDrawable.setShape(GradientDrawable.RECTANGLE);
         mProgressDrawable.setColor(mProgressColor);
 
+        mArcBgPaint = new Paint();
+        mArcBgPaint.setStyle(Paint.Style.STROKE);
+        mArcBgPaint.setStrokeCap(Paint.Cap.ROUND);
+        mArcBgPaint.setAntiAlias(true);
+        mArcBgPaint.setColor(mProgressBackgroundColor);
+
+        mArcProgressPaint = new Paint();
+        mArcProgressPaint.setStyle(Paint.Style.STROKE);
+        mArcProgressPaint.setStrokeCap(Paint.Cap.ROUND);
+        mArcProgressPaint.setAntiAlias(true);
+        mArcProgressPaint.setColor(mProgressColor);
+
         mProgressBackgroundRect = new Rect();
         mProgressRect = new Rect();
         mSectionPointRect = new Rect();
         mThumbDestRect = new Rect();
+        mArcRect = new RectF();
+        mArcBgPath = new Path();
+        mHeatmapRect = new Rect();
+
+        mHeatmapLayer.setColors(heatmapLowColor, heatmapHighColor);
+        mHeatmapLayer.setRange(mMinProgress, mMaxProgress);
 
         mCurrProgress = mMinProgress;
     }
@@ -189,7 +296,10 @@ public class CustomSeekBar extends View {
             return;
         }
 
-        if (HORIZONTAL == mOrientation) {
+        mLabelShift = getLabelShift(HORIZONTAL == mOrientation ? height : width);
+        if (ARC == mOrientation) {
+            initArcSize(width, height);
+        } else if (HORIZONTAL == mOrientation) {
             if (mThumbScaleEnable) {
                 mProgressLength = (int) (width - 2 * mThumbRadius * mMaxThumbScale);
             } else {
@@ -237,11 +347,72 @@ public class CustomSeekBar extends View {
         mSectionPointRect.right = mSectionPointRadius;
 
         mThumbTouchOffset = mThumbRadius;
+        mIsLabelLayoutDirty = true;
+        if (ARC != mOrientation) {
+            mHeatmapLayer.setSize(mProgressLength, VERTICAL == mOrientation);
+        }
 
-        setThumbDrawable(mThumbDrawable);
         setProgress(mCurrProgress);
     }
 
+    /**
+     * Init the arc, the path and the lookup table of thumb position are only
+     * rebuilt when the size or angles changed.
+     *
+     * @param width  width
+     * @param height height
+     */
+    private void initArcSize(int width, int height) {
+        float thumbRadius = mThumbScaleEnable ? mThumbRadius * mMaxThumbScale : mThumbRadius;
+        mArcRadius = Math.max(0, Math.min(width, height) / 2f - thumbRadius);
+        mProgressLength = (int) (mArcRadius * Math.toRadians(mArcSweepAngle));
+        mArcRect.set(-mArcRadius, -mArcRadius, mArcRadius, mArcRadius);
+        mArcBgPaint.setStrokeWidth(2 * mProgressWidth);
+        mArcProgressPaint.setStrokeWidth(2 * mProgressWidth);
+
+        mThumbDestRect.set(-mThumbRadius, -mThumbRadius, mThumbRadius, mThumbRadius);
+        mProgressRect.right = -mProgressLength / 2;
+
+        if (!mIsArcTableDirty && mArcTableWidth == width && mArcTableHeight == height) {
+            return;
+        }
+        mIsArcTableDirty = false;
+        mArcTableWidth = width;
+        mArcTableHeight = height;
+
+        mArcBgPath.reset();
+        mArcBgPath.addArc(mArcRect, mArcStartAngle, mOverspreadEnable ? 360f : mArcSweepAngle);
+
+        // One entry per pixel of arc length, index 0 is the start angle.
+        int size = mProgressLength + 1;
+        if (mArcTableX.length < size) {
+            mArcTableX = new float[size];
+            mArcTableY = new float[size];
+        }
+        for (int i = 0; i < size; i++) {
+            double angle = Math.toRadians(mArcStartAngle
+                    + (mProgressLength == 0 ? 0 : mArcSweepAngle * i / mProgressLength));
+            mArcTableX[i] = (float) (mArcRadius * Math.cos(angle));
+            mArcTableY[i] = (float) (mArcRadius * Math.sin(angle));
+        }
+    }
+
+    /**
+     * Return the index of arc lookup table by coordinate along the arc.
+     *
+     * @param coord the coordinate along the arc
+     * @return the index
+     */
+    private int arcTableIndex(float coord) {
+        int index = Math.round(coord + mProgressLength / 2);
+        if (index < 0) {
+            return 0;
+        } else if (index > mProgressLength) {
+            return mProgressLength;
+        }
+        return index;
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int widthMode = MeasureSpec.getMode(widthMeasureSpec);
@@ -250,11 +421,15 @@ public class CustomSeekBar extends View {
         int heightSize = MeasureSpec.getSize(heightMeasureSpec);
         if (widthMode == MeasureSpec.EXACTLY) {
             mViewWidth = widthSize;
+        } else if (VERTICAL == mOrientation) { // wrap the thumb and labels
+            mViewWidth = resolveSize(getWrapSize(), widthMeasureSpec);
         } else {
             mViewWidth = getWidth();
         }
         if (heightMode == MeasureSpec.EXACTLY) {
             mViewHeight = heightSize;
+        } else if (HORIZONTAL == mOrientation) { // wrap the thumb and labels
+            mViewHeight = resolveSize(getWrapSize(), heightMeasureSpec);
         } else {
             mViewHeight = getHeight();
         }
@@ -262,11 +437,108 @@ public class CustomSeekBar extends View {
         setMeasuredDimension(mViewWidth, mViewHeight);
     }
 
+    /**
+     * Return the view size across the track to wrap the thumb and labels.
+     *
+     * @return the size in pixel
+     */
+    private int getWrapSize() {
+        float thumbRadius = mThumbScaleEnable ? mThumbRadius * mMaxThumbScale : mThumbRadius;
+        float size = 2 * thumbRadius;
+        if (mLabelLayer.isEnabled()) {
+            size += mLabelGap + getLabelExtent();
+        }
+        return (int) Math.ceil(size);
+    }
+
+    /**
+     * Return the shift of track away from the labels, so the track and labels are
+     * centered together. The thumb is kept inside the view.
+     *
+     * @param crossSize the view size across the track
+     * @return the shift in pixel
+     */
+    private int getLabelShift(int crossSize) {
+        if (!mLabelLayer.isEnabled() || ARC == mOrientation) {
+            return 0;
+        }
+        float thumbRadius = mThumbScaleEnable ? mThumbRadius * mMaxThumbScale : mThumbRadius;
+        int shift = (int) Math.ceil((mLabelGap + getLabelExtent()) / 2);
+        return Math.max(0, Math.min(shift, crossSize / 2 - (int) Math.ceil(thumbRadius)));
+    }
+
+    /**
+     * Return the size of labels across the track.
+     *
+     * @return the size in pixel
+     */
+    private float getLabelExtent() {
+        mLabelLayer.setRange(mMinProgress, mMaxProgress);
+        return mLabelLayer.getTextExtent(HORIZONTAL == mOrientation);
+    }
+
+    /**
+     * Return the x of track center in the view, the track is shifted left by the labels
+     * in VERTICAL orientation.
+     *
+     * @return the x in pixel
+     */
+    private int getTrackCenterX() {
+        return mViewWidth / 2 - (VERTICAL == mOrientation ? mLabelShift : 0);
+    }
+
+    /**
+     * Return the y of track center in the view, the track is shifted up by the labels
+     * in HORIZONTAL orientation.
+     *
+     * @return the y in pixel
+     */
+    private int getTrackCenterY() {
+        return mViewHeight / 2 - (HORIZONTAL == mOrientation ? mLabelShift : 0);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mIsAttached = true;
+        mIsDetached = false;
+        updateSuspended();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        mIsAttached = false;
+        mIsDetached = true;
+        updateSuspended();
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateSuspended();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateSuspended();
+    }
+
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        float x = event.getX() - mViewWidth / 2;
-        float y = event.getY() - mViewHeight / 2;
+        float x = event.getX() - getTrackCenterX();
+        float y = event.getY() - getTrackCenterY();
         ViewParent parent = getParent();
+        if (mZoomEnable) {
+            if (null == mScaleGestureDetector) { // created on first touch, it needs a looper
+                mScaleGestureDetector = new ScaleGestureDetector(getContext(), mOnScaleGestureListener);
+            }
+            mScaleGestureDetector.onTouchEvent(event);
+            if (mScaleGestureDetector.isInProgress()) {
+                return true;
+            }
+        }
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
                 if (!mIsThumbEnable) {
@@ -286,7 +558,11 @@ public class CustomSeekBar extends View {
                 break;
             case MotionEvent.ACTION_MOVE:
                 if (mIsClickOnThumb) {
-                    moveToPoint(HORIZONTAL == mOrientation ? x : y);
+                    float coord = touch2Coord(x, y);
+                    if (mIsViewportSet) {
+                        panVisibleRange(coord);
+                    }
+                    moveToPoint(coord);
                     onProgressChanged(false);
                 }
                 break;
@@ -295,12 +571,28 @@ public class CustomSeekBar extends View {
                 mIsClickOnThumb = false;
                 if (mIsClickOnProgress) {
                     mIsClickOnProgress = false;
-                    moveToPoint(HORIZONTAL == mOrientation ? x : y);
+                    moveToPoint(touch2Coord(x, y));
                     onProgressChanged(true);
+                    resyncPlayback();
+                }
+                if (null != parent) {
+                    parent.requestDisallowInterceptTouchEvent(false);
                 }
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                dealThumbAnim(false);
+                boolean isClickOnThumb = mIsClickOnThumb;
+                mIsClickOnThumb = false;
+                mIsClickOnProgress = false;
                 if (null != parent) {
                     parent.requestDisallowInterceptTouchEvent(false);
                 }
+                if (isClickOnThumb) {
+                    onProgressChanged(true);
+                    resyncPlayback();
+                } else {
+                    syncPlayback(); // the playback frames were stopped by the touch
+                }
                 break;
             default:
                 break;
@@ -313,13 +605,19 @@ public class CustomSeekBar extends View {
         super.onDraw(canvas);
         canvas.save();
 
-        canvas.translate(mViewWidth / 2, mViewHeight / 2);
+        canvas.translate(getTrackCenterX(), getTrackCenterY());
 
         drawProgressBackground(canvas);
+        if (mHeatmapLayer.isEnabled() && ARC != mOrientation) {
+            drawHeatmap(canvas);
+        }
         drawProgress(canvas);
         if (mSectionPointEnable) {
             drawProgressSectionPoint(canvas);
         }
+        if (mLabelLayer.isEnabled() && ARC != mOrientation) {
+            drawLabels(canvas);
+        }
         drawThumb(canvas);
 
         canvas.restore();
@@ -332,12 +630,33 @@ public class CustomSeekBar extends View {
      */
     private void drawProgressBackground(Canvas canvas) {
         canvas.save();
+        if (ARC == mOrientation) {
+            canvas.drawPath(mArcBgPath, mArcBgPaint);
+            canvas.restore();
+            return;
+        }
         mProgressBgDrawable.setBounds(mProgressBackgroundRect);
         mProgressBgDrawable.setCornerRadius(mProgressCorner);
         mProgressBgDrawable.draw(canvas);
         canvas.restore();
     }
 
+    /**
+     * Draw the heatmap on the track, under the progress.
+     *
+     * @param canvas Canvas
+     */
+    private void drawHeatmap(Canvas canvas) {
+        int thickness = mHeatmapHeight > 0 ? mHeatmapHeight : 2 * mProgressWidth;
+        int start = -mProgressLength / 2;
+        if (HORIZONTAL == mOrientation) {
+            mHeatmapRect.set(start, -thickness / 2, start + mProgressLength, thickness - thickness / 2);
+        } else {
+            mHeatmapRect.set(-thickness / 2, start, thickness - thickness / 2, start + mProgressLength);
+        }
+        mHeatmapLayer.draw(canvas, mHeatmapRect, getViewportStart(), getViewportEnd());
+    }
+
     /**
      * Draw the progress.
      *
@@ -345,6 +664,14 @@ public class CustomSeekBar extends View {
      */
     private void drawProgress(Canvas canvas) {
         canvas.save();
+        if (ARC == mOrientation) {
+            if (mProgressLength > 0) {
+                float sweep = mArcSweepAngle * (mProgressRect.right + mProgressLength / 2) / mProgressLength;
+                canvas.drawArc(mArcRect, mArcStartAngle, sweep, false, mArcProgressPaint);
+            }
+            canvas.restore();
+            return;
+        }
         mProgressDrawable.setBounds(mProgressRect);
         mProgressDrawable.setCornerRadius(mProgressCorner);
         mProgressDrawable.draw(canvas);
@@ -358,9 +685,27 @@ public class CustomSeekBar extends View {
      */
     private void drawProgressSectionPoint(Canvas canvas) {
         canvas.save();
-        for (int i = mMinProgress; i <= mMaxProgress; i++) {
+        // only the points in visible range are drawn, at most one per dot diameter of track
+        float viewportStart = getViewportStart();
+        float span = getViewportEnd() - viewportStart;
+        int stride = mProgressLength > 0 ? Math.max(1,
+                (int) Math.ceil(2f * mSectionPointRadius * span / mProgressLength)) : 1;
+        long start = mMinProgress + (long) Math.ceil((viewportStart - mMinProgress) / stride) * stride;
+        int end = Math.min(mMaxProgress, (int) Math.floor(getViewportEnd()));
+        for (long i = Math.max(mMinProgress, start); i <= end; i += stride) {
             float coord = progress2Coord(i);
-            if (HORIZONTAL == mOrientation) {
+            if (ARC == mOrientation) {
+                int index = arcTableIndex(coord);
+                mSectionPointRect.left = (int) (mArcTableX[index] - mSectionPointRadius);
+                mSectionPointRect.right = (int) (mArcTableX[index] + mSectionPointRadius);
+                mSectionPointRect.top = (int) (mArcTableY[index] - mSectionPointRadius);
+                mSectionPointRect.bottom = (int) (mArcTableY[index] + mSectionPointRadius);
+                if (coord <= mProgressRect.right) {
+                    mSectionPointPaint.setColor(mProgressColor);
+                } else {
+                    mSectionPointPaint.setColor(mProgressBackgroundColor);
+                }
+            } else if (HORIZONTAL == mOrientation) {
                 mSectionPointRect.left = (int) (coord - mSectionPointRadius);
                 mSectionPointRect.right = (int) (coord + mSectionPointRadius);
                 if (coord <= mProgressRect.right) {
@@ -384,6 +729,37 @@ public class CustomSeekBar extends View {
         canvas.restore();
     }
 
+    /**
+     * Draw the labels along the progress.
+     *
+     * @param canvas Canvas
+     */
+    private void drawLabels(Canvas canvas) {
+        if (mIsLabelLayoutDirty || mLabelLayer.isTextDirty()) {
+            layoutLabels();
+        }
+        mLabelLayer.draw(canvas, HORIZONTAL == mOrientation);
+    }
+
+    /**
+     * Compute the label coordinates and cull the overlapped labels, once per layout.
+     */
+    private void layoutLabels() {
+        mLabelLayer.setRange(mMinProgress, mMaxProgress);
+        // only the labels in visible range are laid out
+        int step = mLabelLayer.getStep();
+        float start = getViewportStart();
+        float span = getViewportEnd() - start;
+        int first = Math.max(0, (int) Math.ceil((start - mMinProgress) / step));
+        int last = (int) Math.floor((getViewportEnd() - mMinProgress) / step);
+        float stepCoord = mProgressLength * step / span;
+        float thumbRadius = mThumbScaleEnable ? mThumbRadius * mMaxThumbScale : mThumbRadius;
+        mLabelLayer.layout(HORIZONTAL == mOrientation, thumbRadius + mLabelGap, mLabelGap, first, last,
+                progress2Coord(mMinProgress + (float) first * step),
+                VERTICAL != mOrientation ? stepCoord : -stepCoord);
+        mIsLabelLayoutDirty = false;
+    }
+
     /**
      * Draw the progress Thumb.
      *
@@ -426,6 +802,18 @@ public class CustomSeekBar extends View {
      * @return true or false
      */
     private boolean clickOnProgress(float x, float y) {
+        if (ARC == mOrientation) {
+            float inner = Math.max(0, mArcRadius - mThumbTouchOffset);
+            float outer = mArcRadius + mThumbTouchOffset;
+            float distance = x * x + y * y;
+            if (mProgressLength <= 0 || distance < inner * inner || distance > outer * outer) {
+                return false;
+            }
+            // the open sector is not the track, except a margin at each end
+            float margin = (float) Math.toDegrees(mThumbTouchOffset / mArcRadius);
+            float angle = touch2ArcAngle(x, y);
+            return angle <= mArcSweepAngle + margin || angle >= 360f - margin;
+        }
         return mProgressBackgroundRect.left < mProgressBackgroundRect.right
                 && mProgressBackgroundRect.top < mProgressBackgroundRect.bottom
                 && x >= mProgressBackgroundRect.left - mThumbTouchOffset
@@ -434,6 +822,39 @@ public class CustomSeekBar extends View {
                 && y <= mProgressBackgroundRect.bottom + mThumbTouchOffset;
     }
 
+    /**
+     * Return the clockwise angle of touch point from the start angle of arc.
+     *
+     * @param x x
+     * @param y y
+     * @return the angle in degrees, in [0, 360)
+     */
+    private float touch2ArcAngle(float x, float y) {
+        float angle = (float) Math.toDegrees(Math.atan2(y, x)) - mArcStartAngle;
+        return ((angle % 360f) + 360f) % 360f;
+    }
+
+    /**
+     * Return the coordinate of thumb by touch point.
+     *
+     * @param x x
+     * @param y y
+     * @return x or y coordinate, or the coordinate along the arc
+     */
+    private float touch2Coord(float x, float y) {
+        if (HORIZONTAL == mOrientation) {
+            return x;
+        } else if (VERTICAL == mOrientation) {
+            return y;
+        }
+        float halfLength = mProgressLength / 2;
+        float angle = touch2ArcAngle(x, y);
+        if (angle > mArcSweepAngle) { // in the gap, move out from the nearest end
+            return angle - mArcSweepAngle < 360f - angle ? halfLength + 1 : -halfLength - 1;
+        }
+        return mProgressLength * angle / mArcSweepAngle - halfLength;
+    }
+
     /**
      * Deal the listener of progress changed.
      *
@@ -441,19 +862,11 @@ public class CustomSeekBar extends View {
      */
     private void onProgressChanged(boolean isFinished) {
         if (!mIsMovedOut) {
-            if (HORIZONTAL == mOrientation) {
-                mCurrProgress = coord2Progress(mThumbDestRect.centerX());
-            } else {
-                mCurrProgress = coord2Progress(mThumbDestRect.centerY());
-            }
+            mCurrProgress = thumb2Progress();
         }
 
         if (mLastProgress != mCurrProgress || isFinished) {
-            if (null != mOnProgressListener) {
-                mIsFromUser = true;
-                mOnProgressListener.onChanged(this, true, isFinished);
-                mIsFromUser = false;
-            }
+            dispatchProgressChanged(true, isFinished);
             mLastProgress = mCurrProgress;
         }
         if (isFinished) { // adjust thumb position when finished.
@@ -463,6 +876,23 @@ public class CustomSeekBar extends View {
         mIsMovedOut = false;
     }
 
+    /**
+     * Call the listener of progress changed.
+     *
+     * @param fromUser   true by user, false not by user
+     * @param isFinished whether changing is finished
+     */
+    private void dispatchProgressChanged(boolean fromUser, boolean isFinished) {
+        if (null != mOnProgressListener) {
+            mIsFromUser = fromUser;
+            mOnProgressListener.onChanged(this, fromUser, isFinished);
+            mIsFromUser = false;
+        }
+        if (null != mProgressPersistence) {
+            mProgressPersistence.onProgressChanged(mProgressPersistenceKey, mCurrProgress, isFinished);
+        }
+    }
+
     /**
      * Move the thumb position.
      *
@@ -473,14 +903,30 @@ public class CustomSeekBar extends View {
         if (coord > halfLength) {
             coord = halfLength;
             mIsMovedOut = true;
-            mCurrProgress = HORIZONTAL == mOrientation ? mMaxProgress : mMinProgress;
+            mCurrProgress = Math.round(VERTICAL != mOrientation ? getViewportEnd() : getViewportStart());
         } else if (coord < -halfLength) {
             coord = -halfLength;
             mIsMovedOut = true;
-            mCurrProgress = HORIZONTAL == mOrientation ? mMinProgress : mMaxProgress;
+            mCurrProgress = Math.round(VERTICAL != mOrientation ? getViewportStart() : getViewportEnd());
         }
+        setThumbCoord(coord);
+        invalidate();
+    }
 
-        if (HORIZONTAL == mOrientation) {
+    /**
+     * Set the thumb and progress rect by coordinate, without redraw.
+     *
+     * @param coord the x or y coordinate of thumb, or the coordinate along the arc
+     */
+    private void setThumbCoord(float coord) {
+        if (ARC == mOrientation) {
+            int index = arcTableIndex(coord);
+            int centerX = (int) mArcTableX[index];
+            int centerY = (int) mArcTableY[index];
+            mThumbDestRect.set(centerX - mThumbRadius, centerY - mThumbRadius,
+                    centerX + mThumbRadius, centerY + mThumbRadius);
+            mProgressRect.right = (int) coord;
+        } else if (HORIZONTAL == mOrientation) {
             mThumbDestRect.left = (int) (coord - mThumbRadius);
             mThumbDestRect.right = (int) (coord + mThumbRadius);
             mProgressRect.right = (int) coord;
@@ -489,7 +935,6 @@ public class CustomSeekBar extends View {
             mThumbDestRect.bottom = (int) (coord + mThumbRadius);
             mProgressRect.top = (int) coord;
         }
-        invalidate();
     }
 
     /**
@@ -498,13 +943,13 @@ public class CustomSeekBar extends View {
      * @param progress progress value
      * @return x or y coordinate
      */
-    private float progress2Coord(int progress) {
-        if (HORIZONTAL == mOrientation) {
-            return (float) mProgressLength * (progress - mMinProgress)
-                    / (mMaxProgress - mMinProgress) - mProgressLength / 2f;
+    private float progress2Coord(float progress) {
+        float start = getViewportStart();
+        float span = getViewportEnd() - start;
+        if (VERTICAL != mOrientation) {
+            return mProgressLength * (progress - start) / span - mProgressLength / 2f;
         } else {
-            return mProgressLength / 2 - (float) mProgressLength * (progress - mMinProgress)
-                    / (mMaxProgress - mMinProgress);
+            return mProgressLength / 2 - mProgressLength * (progress - start) / span;
         }
     }
 
@@ -515,23 +960,167 @@ public class CustomSeekBar extends View {
      * @return progress value
      */
     private int coord2Progress(int coord) {
+        float start = getViewportStart();
+        float end = getViewportEnd();
         if (coord > mProgressLength / 2) {
-            return HORIZONTAL == mOrientation ? mMaxProgress : mMinProgress;
+            return Math.round(VERTICAL != mOrientation ? end : start);
         } else if (coord < -mProgressLength / 2) {
-            return HORIZONTAL == mOrientation ? mMinProgress : mMaxProgress;
+            return Math.round(VERTICAL != mOrientation ? start : end);
         } else {
-            if (HORIZONTAL == mOrientation) {
+            if (VERTICAL != mOrientation) {
                 return Math.round((coord + mProgressLength / 2f)
-                        * (mMaxProgress - mMinProgress) / mProgressLength)
-                        + mMinProgress;
+                        * (end - start) / mProgressLength + start);
             } else {
                 return Math.round((mProgressLength / 2f - coord)
-                        * (mMaxProgress - mMinProgress) / mProgressLength)
-                        + mMinProgress;
+                        * (end - start) / mProgressLength + start);
             }
         }
     }
 
+    /**
+     * Return the progress at the start of visible range.
+     *
+     * @return the progress
+     */
+    private float getViewportStart() {
+        return mIsViewportSet ? mVisibleStart : mMinProgress;
+    }
+
+    /**
+     * Return the progress at the end of visible range.
+     *
+     * @return the progress
+     */
+    private float getViewportEnd() {
+        return mIsViewportSet ? mVisibleEnd : mMaxProgress;
+    }
+
+    /**
+     * Change the visible range, it is clamped in the min and max progress.
+     *
+     * @param start the progress at the start
+     * @param end   the progress at the end
+     */
+    private void changeVisibleRange(float start, float end) {
+        if (!updateVisibleRange(start, end)) {
+            return;
+        }
+        if (isFinished()) {
+            moveToPoint(checkCoord(progress2Coord(mCurrProgress)));
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Update the visible range, it is clamped in the min and max progress. Without redraw.
+     *
+     * @param start the progress at the start
+     * @param end   the progress at the end
+     * @return true changed
+     */
+    private boolean updateVisibleRange(float start, float end) {
+        float fullSpan = mMaxProgress - mMinProgress;
+        float span = Math.max(Math.min(end - start, fullSpan), Math.min(MIN_VISIBLE_SPAN, fullSpan));
+        if (start < mMinProgress) {
+            start = mMinProgress;
+        } else if (start + span > mMaxProgress) {
+            start = mMaxProgress - span;
+        }
+        end = start + span;
+        boolean isViewportSet = span < fullSpan;
+        if (isViewportSet == mIsViewportSet
+                && (!isViewportSet || (start == mVisibleStart && end == mVisibleEnd))) {
+            return false;
+        }
+        mIsViewportSet = isViewportSet;
+        mVisibleStart = start;
+        mVisibleEnd = end;
+        mIsLabelLayoutDirty = true;
+        return true;
+    }
+
+    /**
+     * Pan the visible range when the thumb is dragged out of the edge.
+     *
+     * @param coord the x or y coordinate of touch
+     */
+    private void panVisibleRange(float coord) {
+        float halfLength = mProgressLength / 2;
+        float step = Math.max(1f, (mVisibleEnd - mVisibleStart) / VIEWPORT_PAN_DIVISOR);
+        boolean toEnd;
+        if (coord > halfLength) {
+            toEnd = VERTICAL != mOrientation;
+        } else if (coord < -halfLength) {
+            toEnd = VERTICAL == mOrientation;
+        } else {
+            return;
+        }
+        if (toEnd) {
+            changeVisibleRange(mVisibleStart + step, mVisibleEnd + step);
+        } else {
+            changeVisibleRange(mVisibleStart - step, mVisibleEnd - step);
+        }
+    }
+
+    /**
+     * Scroll the visible range to show the progress, the span is not changed. Without redraw.
+     *
+     * @param progress the progress
+     * @return true scrolled
+     */
+    private boolean scrollToVisible(float progress) {
+        if (!mIsViewportSet || (progress >= mVisibleStart && progress <= mVisibleEnd)) {
+            return false;
+        }
+        float span = mVisibleEnd - mVisibleStart;
+        float start = progress > mVisibleEnd
+                ? progress - span * VIEWPORT_FOLLOW_MARGIN
+                : progress - span * (1 - VIEWPORT_FOLLOW_MARGIN);
+        return updateVisibleRange(start, start + span);
+    }
+
+    /**
+     * The listener of pinch zoom.
+     */
+    private ScaleGestureDetector.SimpleOnScaleGestureListener mOnScaleGestureListener
+            = new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+
+        @Override
+        public boolean onScaleBegin(ScaleGestureDetector detector) {
+            if (mIsClickOnProgress) { // the drag is ended by pinch
+                boolean isClickOnThumb = mIsClickOnThumb;
+                mIsClickOnThumb = false;
+                mIsClickOnProgress = false;
+                dealThumbAnim(false);
+                if (isClickOnThumb) {
+                    onProgressChanged(true);
+                    resyncPlayback();
+                } else {
+                    syncPlayback(); // the playback frames were stopped by the touch
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean onScale(ScaleGestureDetector detector) {
+            float start = getViewportStart();
+            float end = getViewportEnd();
+            float span = end - start;
+            float coord = checkCoord(touch2Coord(detector.getFocusX() - getTrackCenterX(),
+                    detector.getFocusY() - getTrackCenterY()));
+            float fraction = mProgressLength > 0 ? (coord + mProgressLength / 2f) / mProgressLength : 0.5f;
+            if (VERTICAL == mOrientation) {
+                fraction = 1 - fraction;
+            }
+            float focus = start + span * fraction;
+            float newSpan = span / detector.getScaleFactor();
+            changeVisibleRange(focus - newSpan * fraction, focus + newSpan * (1 - fraction));
+            return true;
+        }
+    };
+
     /**
      * Change thumb scale.
      *
@@ -598,6 +1187,14 @@ public class CustomSeekBar extends View {
      * @param progress progress
      */
     private void toDestProgress(boolean anim, int progress) {
+        if (mIsSuspended) { // applied in one step on resume
+            if (null != mToDestValueAnimator) {
+                mToDestValueAnimator.cancel();
+            }
+            mCurrProgress = progress;
+            mIsThumbSyncPending = true;
+            return;
+        }
         if (anim && Build.VERSION.SDK_INT >= 12) {
             float startCoord = checkCoord(progress2Coord(mCurrProgress));
             float stopCoord = checkCoord(progress2Coord(progress));
@@ -694,12 +1291,11 @@ public class CustomSeekBar extends View {
             progress = mMaxProgress;
         }
 
+        scrollToVisible(progress);
         toDestProgress(anim, progress);
-        if (null != mOnProgressListener) {
+        if (null != mOnProgressListener || null != mProgressPersistence) {
             if (mLastProgress != mCurrProgress) {
-                mIsFromUser = fromUser;
-                mOnProgressListener.onChanged(this, mIsFromUser, true);
-                mIsFromUser = false;
+                dispatchProgressChanged(fromUser, true);
             }
             mLastProgress = mCurrProgress;
         }
@@ -720,10 +1316,7 @@ public class CustomSeekBar extends View {
      * @param minProgress the min progress
      */
     public void setMinProgress(int minProgress) {
-        this.mMinProgress = minProgress;
-        if (mCurrProgress < mMinProgress) {
-            this.mCurrProgress = mMinProgress;
-        }
+        applyChanges(changeMinProgress(minProgress));
     }
 
     /**
@@ -732,7 +1325,55 @@ public class CustomSeekBar extends View {
      * @param maxProgress the max progress
      */
     public void setMaxProgress(int maxProgress) {
-        this.mMaxProgress = maxProgress;
+        applyChanges(changeMaxProgress(maxProgress));
+    }
+
+    /**
+     * Zoom into a window of the progress range. The ticks, labels and touch are mapped
+     * to the visible range, the range is panned when the thumb is dragged out of the edge.
+     *
+     * @param start the progress at the start
+     * @param end   the progress at the end
+     */
+    public void setVisibleRange(int start, int end) {
+        changeVisibleRange(start, end);
+    }
+
+    /**
+     * Show the full progress range.
+     */
+    public void resetVisibleRange() {
+        changeVisibleRange(mMinProgress, mMaxProgress);
+    }
+
+    /**
+     * Get the progress at the start of visible range.
+     *
+     * @return the progress
+     */
+    public int getVisibleStart() {
+        return Math.round(getViewportStart());
+    }
+
+    /**
+     * Get the progress at the end of visible range.
+     *
+     * @return the progress
+     */
+    public int getVisibleEnd() {
+        return Math.round(getViewportEnd());
+    }
+
+    /**
+     * Set pinch zoom enable.
+     *
+     * @param enable true can zoom by pinch
+     */
+    public void setZoomEnable(boolean enable) {
+        this.mZoomEnable = enable;
+        if (!enable) {
+            mScaleGestureDetector = null;
+        }
     }
 
     /**
@@ -741,8 +1382,7 @@ public class CustomSeekBar extends View {
      * @param color color
      */
     public void setProgressBackgroundColor(@ColorInt int color) {
-        this.mProgressBackgroundColor = color;
-        mProgressBgDrawable.setColor(mProgressBackgroundColor);
+        applyChanges(changeProgressBackgroundColor(color));
     }
 
     /**
@@ -751,8 +1391,17 @@ public class CustomSeekBar extends View {
      * @param color color
      */
     public void setProgressColor(@ColorInt int color) {
-        this.mProgressColor = color;
-        mProgressDrawable.setColor(mProgressColor);
+        applyChanges(changeProgressColor(color));
+    }
+
+    /**
+     * Set the angles of ARC orientation, 0 degree is at 3 o'clock and clockwise is positive.
+     *
+     * @param startAngle the start angle in degrees
+     * @param sweepAngle the sweep angle in degrees, in (0, 360]
+     */
+    public void setArcAngles(float startAngle, float sweepAngle) {
+        applyChanges(changeArcAngles(startAngle, sweepAngle));
     }
 
     /**
@@ -761,10 +1410,7 @@ public class CustomSeekBar extends View {
      * @param drawable Drawable
      */
     public void setThumbDrawable(Drawable drawable) {
-        if (null == drawable) {
-            return;
-        }
-        mThumbDrawable = drawable;
+        applyChanges(changeThumbDrawable(drawable));
     }
 
     /**
@@ -773,7 +1419,234 @@ public class CustomSeekBar extends View {
      * @param enable true show section
      */
     public void setSectionEnable(boolean enable) {
+        applyChanges(changeSectionEnable(enable));
+    }
+
+    /**
+     * Set the progress step between two labels, the overlapped labels are hidden.
+     * The labels are not shown in ARC orientation.
+     *
+     * @param step the step, 0 to hide labels
+     */
+    public void setLabelStep(int step) {
+        applyChanges(changeLabelStep(step));
+    }
+
+    /**
+     * Set the formatter of label text.
+     *
+     * @param formatter the formatter, null to show the progress value
+     */
+    public void setLabelFormatter(LabelFormatter formatter) {
+        applyChanges(changeLabelFormatter(formatter));
+    }
+
+    /**
+     * Set the text size of labels.
+     *
+     * @param size the text size in pixel
+     */
+    public void setLabelTextSize(float size) {
+        applyChanges(changeLabelTextSize(size));
+    }
+
+    /**
+     * Set the text color of labels.
+     *
+     * @param color color
+     */
+    public void setLabelColor(@ColorInt int color) {
+        applyChanges(changeLabelColor(color));
+    }
+
+    /**
+     * Add the weight at a progress position to the heatmap, the weights at the same
+     * pixel of track are summed. The heatmap is drawn after the first weight is added,
+     * it is not shown in ARC orientation.
+     *
+     * @param position the progress position, ignored if out of range
+     * @param weight   the weight, such as the hit count
+     */
+    public void addHeatmap(float position, float weight) {
+        mHeatmapLayer.add(position, weight);
+        invalidate();
+    }
+
+    /**
+     * Remove all weights of the heatmap.
+     */
+    public void clearHeatmap() {
+        mHeatmapLayer.clear();
+        invalidate();
+    }
+
+    /**
+     * Set the heatmap colors of zero weight and of the peak weight.
+     *
+     * @param lowColor  the color of zero weight
+     * @param highColor the color of the peak weight
+     */
+    public void setHeatmapColors(@ColorInt int lowColor, @ColorInt int highColor) {
+        applyChanges(changeHeatmapColors(lowColor, highColor));
+    }
+
+    /**
+     * Set the thickness of the heatmap.
+     *
+     * @param height the thickness in pixel, 0 to fit the progress
+     */
+    public void setHeatmapHeight(int height) {
+        applyChanges(changeHeatmapHeight(height));
+    }
+
+    /**
+     * Begin a batch of changes, the geometry is recomputed and the view is
+     * redrawn only once when {@link Editor#apply()} is called.
+     * Follow this example:
+     *
+     * <pre class="prettyprint">
+     * seekBar.edit()
+     *         .setMaxProgress(200)
+     *         .setProgressColor(0xFF008888)
+     *         .setSectionEnable(true)
+     *         .apply();
+     * </pre>
+     *
+     * @return the editor
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Recompute only the caches marked dirty and redraw once.
+     *
+     * @param dirty the dirty flags
+     */
+    private void applyChanges(int dirty) {
+        if (0 == dirty) {
+            return;
+        }
+        if ((dirty & DIRTY_COLOR) != 0) {
+            mProgressBgDrawable.setColor(mProgressBackgroundColor);
+            mArcBgPaint.setColor(mProgressBackgroundColor);
+            mProgressDrawable.setColor(mProgressColor);
+            mArcProgressPaint.setColor(mProgressColor);
+        }
+        if ((dirty & (DIRTY_RANGE | DIRTY_ARC)) != 0) {
+            if (mCurrProgress < mMinProgress) {
+                mCurrProgress = mMinProgress;
+            } else if (mCurrProgress > mMaxProgress) {
+                mCurrProgress = mMaxProgress;
+            }
+            if (mIsViewportSet) {
+                updateVisibleRange(mVisibleStart, mVisibleEnd);
+            }
+            if ((dirty & DIRTY_ARC) != 0) {
+                mIsArcTableDirty = true;
+                if (ARC == mOrientation && mViewWidth > 0 && mViewHeight > 0) {
+                    initArcSize(mViewWidth, mViewHeight);
+                }
+            }
+            if (isFinished()) {
+                setThumbCoord(checkCoord(progress2Coord(mCurrProgress)));
+            }
+            mHeatmapLayer.setRange(mMinProgress, mMaxProgress);
+            mIsLabelLayoutDirty = true;
+        } else if ((dirty & DIRTY_THUMB) != 0 && isFinished()) {
+            setThumbCoord(checkCoord(progress2Coord(mCurrProgress)));
+        }
+        if ((dirty & DIRTY_LABEL) != 0) {
+            mIsLabelLayoutDirty = true;
+            requestLayout(); // the room of labels
+        }
+        invalidate();
+    }
+
+    private int changeMinProgress(int minProgress) {
+        if (mMinProgress == minProgress) {
+            return 0;
+        }
+        this.mMinProgress = minProgress;
+        return DIRTY_RANGE;
+    }
+
+    private int changeMaxProgress(int maxProgress) {
+        if (mMaxProgress == maxProgress) {
+            return 0;
+        }
+        this.mMaxProgress = maxProgress;
+        return DIRTY_RANGE;
+    }
+
+    private int changeProgressBackgroundColor(int color) {
+        if (mProgressBackgroundColor == color) {
+            return 0;
+        }
+        this.mProgressBackgroundColor = color;
+        return DIRTY_COLOR;
+    }
+
+    private int changeProgressColor(int color) {
+        if (mProgressColor == color) {
+            return 0;
+        }
+        this.mProgressColor = color;
+        return DIRTY_COLOR;
+    }
+
+    private int changeArcAngles(float startAngle, float sweepAngle) {
+        sweepAngle = Math.max(Math.min(sweepAngle, 360f), 1f);
+        if (mArcStartAngle == startAngle && mArcSweepAngle == sweepAngle) {
+            return 0;
+        }
+        this.mArcStartAngle = startAngle;
+        this.mArcSweepAngle = sweepAngle;
+        return DIRTY_ARC;
+    }
+
+    private int changeThumbDrawable(Drawable drawable) {
+        if (null == drawable || mThumbDrawable == drawable) {
+            return 0;
+        }
+        this.mThumbDrawable = drawable;
+        return DIRTY_DRAW;
+    }
+
+    private int changeSectionEnable(boolean enable) {
+        if (mSectionPointEnable == enable) {
+            return 0;
+        }
         this.mSectionPointEnable = enable;
+        return DIRTY_DRAW;
+    }
+
+    private int changeLabelStep(int step) {
+        return mLabelLayer.setStep(step) ? DIRTY_LABEL : 0;
+    }
+
+    private int changeLabelFormatter(LabelFormatter formatter) {
+        return mLabelLayer.setFormatter(formatter) ? DIRTY_LABEL : 0;
+    }
+
+    private int changeLabelTextSize(float size) {
+        return mLabelLayer.setTextSize(size) ? DIRTY_LABEL : 0;
+    }
+
+    private int changeLabelColor(int color) {
+        return mLabelLayer.setColor(color) ? DIRTY_DRAW : 0;
+    }
+
+    private int changeHeatmapColors(int lowColor, int highColor) {
+        return mHeatmapLayer.setColors(lowColor, highColor) ? DIRTY_DRAW : 0;
+    }
+
+    private int changeHeatmapHeight(int height) {
+        if (mHeatmapHeight == height) {
+            return 0;
+        }
+        this.mHeatmapHeight = height;
+        return DIRTY_DRAW;
     }
 
     /**
@@ -785,6 +1658,258 @@ public class CustomSeekBar extends View {
         this.mIsThumbEnable = enable;
     }
 
+    /**
+     * Bind the thumb to a playback clock. While bound the thumb is advanced
+     * from the clock on the frames it moves a pixel, without calling the listener. The listener
+     * is only called on discrete events: user seek, pause and end.
+     * Call {@link #syncPlayback()} whenever the player is started, paused,
+     * seeked or its speed changes.
+     *
+     * @param clock the playback clock, null to unbind
+     */
+    public void setPlaybackClock(PlaybackClock clock) {
+        mPlaybackClock = clock;
+        if (null == clock) {
+            mIsPlaybackPlaying = false;
+            removeCallbacks(mPlaybackFrameRunnable);
+            mIsPlaybackFrameScheduled = false;
+            return;
+        }
+        syncPlayback();
+    }
+
+    /**
+     * Read the playback clock again and move the thumb to its position.
+     * The listener is called if the position jumped or the playing state changed.
+     */
+    public void syncPlayback() {
+        if (null == mPlaybackClock) {
+            return;
+        }
+        boolean wasPlaying = mIsPlaybackPlaying;
+        mPlaybackAnchorPosition = mPlaybackClock.getPosition();
+        mPlaybackAnchorTime = AnimationUtils.currentAnimationTimeMillis();
+        mPlaybackRate = mPlaybackClock.getRate();
+        mIsPlaybackPlaying = mPlaybackClock.isPlaying();
+        if (!isFinished()) {
+            return; // resync on ACTION_UP
+        }
+        moveToPlaybackPosition(mPlaybackAnchorPosition);
+        if (mLastProgress != mCurrProgress || wasPlaying != mIsPlaybackPlaying) {
+            dispatchProgressChanged(false, true);
+            mLastProgress = mCurrProgress;
+        }
+        if (mIsPlaybackPlaying) {
+            schedulePlaybackFrame(getPlaybackFrameDelay(mPlaybackAnchorPosition));
+        }
+    }
+
+    /**
+     * Resync the playback clock from the progress dropped by user,
+     * the player is expected to be seeked by the listener.
+     */
+    private void resyncPlayback() {
+        if (null == mPlaybackClock) {
+            return;
+        }
+        mPlaybackAnchorPosition = mCurrProgress;
+        mPlaybackAnchorTime = AnimationUtils.currentAnimationTimeMillis();
+        mPlaybackRate = mPlaybackClock.getRate();
+        mIsPlaybackPlaying = mPlaybackClock.isPlaying();
+        if (mIsPlaybackPlaying) {
+            schedulePlaybackFrame(getPlaybackFrameDelay(mPlaybackAnchorPosition));
+        }
+    }
+
+    /**
+     * Post the next playback frame, aligned to vsync when supported.
+     * A frame already posted is replaced.
+     *
+     * @param delay the delay in milliseconds
+     */
+    private void schedulePlaybackFrame(long delay) {
+        if (mIsSuspended) {
+            return;
+        }
+        if (mIsPlaybackFrameScheduled) {
+            removeCallbacks(mPlaybackFrameRunnable);
+        }
+        mIsPlaybackFrameScheduled = true;
+        if (Build.VERSION.SDK_INT >= 16) {
+            postOnAnimationDelayed(mPlaybackFrameRunnable, delay);
+        } else {
+            postDelayed(mPlaybackFrameRunnable, Math.max(delay, PLAYBACK_FRAME_INTERVAL));
+        }
+    }
+
+    /**
+     * Return the delay until the thumb reaches the next pixel at the playback rate,
+     * so no frame is posted while the thumb can not move. The delay is capped to
+     * still poll the clock for pause.
+     *
+     * @param position the playback position
+     * @return the delay in milliseconds
+     */
+    private long getPlaybackFrameDelay(float position) {
+        if (0 == mPlaybackRate || mProgressLength <= 0) {
+            return PLAYBACK_MAX_FRAME_DELAY;
+        }
+        float start = getViewportStart();
+        float span = getViewportEnd() - start;
+        float offset = mProgressLength * (position - start) / span - mProgressLength / 2f;
+        float pixels = mPlaybackRate > 0 ? (float) Math.floor(offset) + 1 - offset
+                : offset - (float) Math.ceil(offset) + 1;
+        double delay = Math.ceil(pixels * span / mProgressLength / Math.abs(mPlaybackRate) * 1000);
+        return (long) Math.min(delay, PLAYBACK_MAX_FRAME_DELAY);
+    }
+
+    /**
+     * The runnable for playback frame.
+     */
+    private Runnable mPlaybackFrameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsPlaybackFrameScheduled = false;
+            onPlaybackFrame();
+        }
+    };
+
+    /**
+     * Advance the thumb from the playback clock.
+     */
+    private void onPlaybackFrame() {
+        if (null == mPlaybackClock || !mIsPlaybackPlaying) {
+            return;
+        }
+        if (!mPlaybackClock.isPlaying()) { // paused or stopped
+            syncPlayback();
+            return;
+        }
+        if (!isFinished()) { // suspended while dragging, restarted by resyncPlayback
+            return;
+        }
+        float position = mPlaybackAnchorPosition + mPlaybackRate
+                * (AnimationUtils.currentAnimationTimeMillis() - mPlaybackAnchorTime) / 1000f;
+        moveToPlaybackPosition(position);
+        if (position >= mMaxProgress) { // end
+            mIsPlaybackPlaying = false;
+            dispatchProgressChanged(false, true);
+            mLastProgress = mCurrProgress;
+            return;
+        }
+        mLastProgress = mCurrProgress;
+        schedulePlaybackFrame(getPlaybackFrameDelay(position));
+    }
+
+    /**
+     * Move the thumb to playback position without calling listener.
+     *
+     * @param position the playback position
+     */
+    private void moveToPlaybackPosition(float position) {
+        if (position <= mMinProgress) {
+            position = mMinProgress;
+        } else if (position >= mMaxProgress) {
+            position = mMaxProgress;
+        }
+        mCurrProgress = Math.round(position);
+        if (mIsSuspended) {
+            mIsThumbSyncPending = true;
+            return;
+        }
+        boolean scrolled = scrollToVisible(position);
+        int coord = (int) checkCoord(progress2Coord(position));
+        int currCoord = VERTICAL != mOrientation ? mProgressRect.right : mProgressRect.top;
+        if (scrolled || coord != currCoord) {
+            moveToPoint(coord);
+        }
+    }
+
+    /**
+     * Return the progress at the thumb position.
+     *
+     * @return progress value
+     */
+    private int thumb2Progress() {
+        if (ARC == mOrientation) {
+            return coord2Progress(mProgressRect.right);
+        } else if (HORIZONTAL == mOrientation) {
+            return coord2Progress(mThumbDestRect.centerX());
+        }
+        return coord2Progress(mThumbDestRect.centerY());
+    }
+
+    /**
+     * Suspend or resume the animations and callbacks by the attach state and visibility.
+     * A view which is never attached is never suspended, since the visibility changes
+     * are only dispatched to attached views.
+     */
+    private void updateSuspended() {
+        boolean suspended;
+        if (mIsAttached) {
+            suspended = getWindowVisibility() != VISIBLE || !isShown();
+        } else {
+            suspended = mIsDetached;
+        }
+        if (suspended == mIsSuspended) {
+            return;
+        }
+        mIsSuspended = suspended;
+        if (suspended) {
+            onSuspend();
+        } else {
+            onResume();
+        }
+    }
+
+    /**
+     * Cancel the animations and pending callbacks, the thumb is synced on resume.
+     */
+    private void onSuspend() {
+        removeCallbacks(thumbAnimRunnable);
+        removeCallbacks(mPlaybackFrameRunnable);
+        mIsPlaybackFrameScheduled = false;
+        if (null != mValueAnimator) {
+            mValueAnimator.cancel();
+        }
+        mThumbScale = 1f;
+        if (null != mToDestValueAnimator && mToDestValueAnimator.isRunning()) {
+            mToDestValueAnimator.cancel();
+            mIsThumbSyncPending = true;
+        }
+        if (mIsClickOnProgress) { // the rest of touch stream is lost
+            boolean isClickOnThumb = mIsClickOnThumb;
+            mIsClickOnThumb = false;
+            mIsClickOnProgress = false;
+            mIsThumbSyncPending = true;
+            if (isClickOnThumb) { // finish the drag without redraw, the thumb is moved on resume
+                if (!mIsMovedOut) {
+                    mCurrProgress = thumb2Progress();
+                }
+                mIsMovedOut = false;
+                setThumbCoord(checkCoord(progress2Coord(mCurrProgress)));
+                dispatchProgressChanged(true, true);
+                mLastProgress = mCurrProgress;
+                resyncPlayback();
+            }
+        }
+    }
+
+    /**
+     * Move the thumb to the progress changed while suspended in one step,
+     * and restart the playback frames.
+     */
+    private void onResume() {
+        if (mIsThumbSyncPending) {
+            mIsThumbSyncPending = false;
+            scrollToVisible(mCurrProgress);
+            moveToPoint(checkCoord(progress2Coord(mCurrProgress)));
+        }
+        if (mIsPlaybackPlaying) {
+            syncPlayback();
+        }
+    }
+
     /**
      * Register a callback to be invoked when the progress changes.
      *
@@ -794,14 +1919,206 @@ public class CustomSeekBar extends View {
         mOnProgressListener = listener;
     }
 
+    /**
+     * Set the persistence which the progress is written to, called by {@link ProgressPersistence#bind}.
+     *
+     * @param persistence the persistence, null to unbind
+     * @param key         the key of stored progress
+     */
+    void setProgressPersistence(ProgressPersistence persistence, String key) {
+        mProgressPersistence = persistence;
+        mProgressPersistenceKey = key;
+    }
+
+    /**
+     * Get the key of stored progress.
+     *
+     * @return the key, null if not bound
+     */
+    String getProgressPersistenceKey() {
+        return mProgressPersistenceKey;
+    }
+
+    /**
+     * The batch of changes, created by {@link #edit()}. The setters are the same as
+     * the ones of {@link CustomSeekBar}, nothing is recomputed until {@link #apply()}.
+     */
+    public class Editor {
+
+        private int mDirty;
+        private boolean mHasProgress = false;
+        private int mProgress;
+        private boolean mHasVisibleRange = false;
+        private int mVisibleRangeStart;
+        private int mVisibleRangeEnd;
+
+        private Editor() {
+        }
+
+        public Editor setMinProgress(int minProgress) {
+            mDirty |= changeMinProgress(minProgress);
+            return this;
+        }
+
+        public Editor setMaxProgress(int maxProgress) {
+            mDirty |= changeMaxProgress(maxProgress);
+            return this;
+        }
+
+        public Editor setProgressBackgroundColor(@ColorInt int color) {
+            mDirty |= changeProgressBackgroundColor(color);
+            return this;
+        }
+
+        public Editor setProgressColor(@ColorInt int color) {
+            mDirty |= changeProgressColor(color);
+            return this;
+        }
+
+        public Editor setArcAngles(float startAngle, float sweepAngle) {
+            mDirty |= changeArcAngles(startAngle, sweepAngle);
+            return this;
+        }
+
+        public Editor setThumbDrawable(Drawable drawable) {
+            mDirty |= changeThumbDrawable(drawable);
+            return this;
+        }
+
+        public Editor setSectionEnable(boolean enable) {
+            mDirty |= changeSectionEnable(enable);
+            return this;
+        }
+
+        public Editor setLabelStep(int step) {
+            mDirty |= changeLabelStep(step);
+            return this;
+        }
+
+        public Editor setLabelFormatter(LabelFormatter formatter) {
+            mDirty |= changeLabelFormatter(formatter);
+            return this;
+        }
+
+        public Editor setLabelTextSize(float size) {
+            mDirty |= changeLabelTextSize(size);
+            return this;
+        }
+
+        public Editor setLabelColor(@ColorInt int color) {
+            mDirty |= changeLabelColor(color);
+            return this;
+        }
+
+        public Editor setHeatmapColors(@ColorInt int lowColor, @ColorInt int highColor) {
+            mDirty |= changeHeatmapColors(lowColor, highColor);
+            return this;
+        }
+
+        public Editor setHeatmapHeight(int height) {
+            mDirty |= changeHeatmapHeight(height);
+            return this;
+        }
+
+        /**
+         * Set the visible range, applied after the progress range.
+         *
+         * @param start the progress at the start
+         * @param end   the progress at the end
+         * @return the editor
+         */
+        public Editor setVisibleRange(int start, int end) {
+            mHasVisibleRange = true;
+            mVisibleRangeStart = start;
+            mVisibleRangeEnd = end;
+            return this;
+        }
+
+        /**
+         * Set the progress without anim, applied after the progress range.
+         *
+         * @param progress progress
+         * @return the editor
+         */
+        public Editor setProgress(int progress) {
+            mHasProgress = true;
+            mProgress = progress;
+            return this;
+        }
+
+        /**
+         * Apply all changes, recompute the dirty caches and redraw once.
+         */
+        public void apply() {
+            int dirty = mDirty;
+            if (mHasVisibleRange && updateVisibleRange(mVisibleRangeStart, mVisibleRangeEnd)) {
+                dirty |= DIRTY_RANGE;
+            }
+            boolean hasProgress = mHasProgress && mIsThumbEnable && isFinished();
+            if (hasProgress) {
+                if (null != mToDestValueAnimator) {
+                    mToDestValueAnimator.cancel();
+                }
+                mCurrProgress = Math.max(mMinProgress, Math.min(mMaxProgress, mProgress));
+                scrollToVisible(mCurrProgress);
+                dirty |= DIRTY_THUMB;
+            }
+            applyChanges(dirty);
+            if (hasProgress && mLastProgress != mCurrProgress
+                    && (null != mOnProgressListener || null != mProgressPersistence)) {
+                dispatchProgressChanged(false, true);
+                mLastProgress = mCurrProgress;
+            }
+            mDirty = 0;
+            mHasProgress = false;
+            mHasVisibleRange = false;
+        }
+    }
+
     public interface OnProgressChangedListener {
         void onChanged(CustomSeekBar seekBar, boolean fromUser,
                        boolean isFinished);
     }
 
+    /**
+     * The formatter of label text.
+     */
+    public interface LabelFormatter {
+        /**
+         * @param progress the progress value of label
+         * @return the label text
+         */
+        String format(int progress);
+    }
+
+    /**
+     * The position source of media playback.
+     */
+    public interface PlaybackClock {
+        /**
+         * @return the current position, in progress unit
+         */
+        float getPosition();
+
+        /**
+         * @return the progress units advanced per second when playing
+         */
+        float getRate();
+
+        /**
+         * @return true playing, false paused or stopped
+         */
+        boolean isPlaying();
+    }
+
     private int dip2px(Context ctx, float dpValue) {
         final float scale = ctx.getResources().getDisplayMetrics().density;
         return (int) (dpValue * scale + 0.5f);
     }
 
+    private int sp2px(Context ctx, float spValue) {
+        final float scale = ctx.getResources().getDisplayMetrics().scaledDensity;
+        return (int) (spValue * scale + 0.5f);
+    }
+
 }
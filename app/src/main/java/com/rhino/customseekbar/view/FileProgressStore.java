@@ -0,0 +1,100 @@
+package com.rhino.customseekbar.view;
+
+import android.content.Context;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>The default {@link ProgressStore}, all values are kept in one small binary file.</p>
+ * The file is rewritten to a temp file and renamed, so a failed write keeps the old values.
+ **/
+public class FileProgressStore implements ProgressStore {
+
+    private static final int VERSION = 1;
+
+    private File mFile;
+    private HashMap<String, Integer> mValues;
+
+    public FileProgressStore(File file) {
+        mFile = file;
+    }
+
+    public FileProgressStore(Context context, String name) {
+        this(new File(context.getFilesDir(), name));
+    }
+
+    @Override
+    public synchronized Map<String, Integer> readAll() throws IOException {
+        return new HashMap<>(load());
+    }
+
+    @Override
+    public synchronized void write(Map<String, Integer> changes) throws IOException {
+        HashMap<String, Integer> values;
+        try {
+            values = load();
+        } catch (IOException e) {
+            values = new HashMap<>(); // the broken file is replaced
+            mValues = values;
+        }
+        values.putAll(changes);
+
+        File tempFile = new File(mFile.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(tempFile)));
+        try {
+            out.writeInt(VERSION);
+            out.writeInt(values.size());
+            for (Map.Entry<String, Integer> entry : values.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+        if (!tempFile.renameTo(mFile)) {
+            throw new IOException("Failed to rename " + tempFile + " to " + mFile);
+        }
+    }
+
+    /**
+     * Load the values from file once, they are kept in memory after.
+     *
+     * @return the values
+     * @throws IOException if read failed
+     */
+    private HashMap<String, Integer> load() throws IOException {
+        if (null != mValues) {
+            return mValues;
+        }
+        HashMap<String, Integer> values = new HashMap<>();
+        if (mFile.exists()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(mFile)));
+            try {
+                int version = in.readInt();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported progress file version " + version);
+                }
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String key = in.readUTF();
+                    values.put(key, in.readInt());
+                }
+            } finally {
+                in.close();
+            }
+        }
+        mValues = values;
+        return mValues;
+    }
+}
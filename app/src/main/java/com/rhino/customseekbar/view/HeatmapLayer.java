@@ -0,0 +1,303 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * <p>The heatmap layer drawn on the track of {@link CustomSeekBar}.</p>
+ * The weights are aggregated into one column per pixel of track, a column is mapped
+ * to a color by a cached ramp and stored in a bitmap of one pixel thick. Only the
+ * columns changed since the last frame are written to the bitmap, the whole bitmap
+ * is only rewritten when the colors, the size or the range changed, or the peak
+ * crossed a power of two.
+ **/
+class HeatmapLayer {
+
+    private static final int RAMP_SIZE = 256;
+    private static final int DEFAULT_COLUMN_COUNT = 256;
+
+    private Paint mPaint;
+    private int mLowColor;
+    private int mHighColor;
+    private int[] mRamp = new int[RAMP_SIZE];
+    private boolean mIsRampDirty = true;
+
+    private int mMin;
+    private int mMax;
+    private int mCount;
+    private boolean mVertical;
+    private float[] mColumns = new float[0];
+    private float mPeak;
+    private float mScale = 1f;
+    private boolean mHasData = false;
+
+    private int[] mPixels = new int[0];
+    private Bitmap mBitmap;
+    private Rect mSrcRect;
+    private int mDirtyStart;
+    private int mDirtyEnd;
+
+    HeatmapLayer() {
+        mPaint = new Paint();
+        mPaint.setFilterBitmap(true);
+        mSrcRect = new Rect();
+    }
+
+    /**
+     * Whether any weight is added.
+     *
+     * @return true has data
+     */
+    boolean isEnabled() {
+        return mHasData;
+    }
+
+    /**
+     * Set the colors of the lowest and highest weight, the colors between are interpolated.
+     *
+     * @param lowColor  the color of zero weight
+     * @param highColor the color of the peak weight
+     * @return true changed
+     */
+    boolean setColors(int lowColor, int highColor) {
+        if (mLowColor == lowColor && mHighColor == highColor) {
+            return false;
+        }
+        mLowColor = lowColor;
+        mHighColor = highColor;
+        mIsRampDirty = true;
+        markAllDirty();
+        return true;
+    }
+
+    /**
+     * Set the progress range of the track, the columns are re-binned.
+     *
+     * @param min the min progress
+     * @param max the max progress
+     */
+    void setRange(int min, int max) {
+        if (mMin != min || mMax != max) {
+            rebin(mCount, min, max);
+        }
+    }
+
+    /**
+     * Set the column count and direction, the columns are re-binned.
+     *
+     * @param count    the track length in pixel
+     * @param vertical true the progress grows upward
+     */
+    void setSize(int count, boolean vertical) {
+        if (count <= 0) {
+            return;
+        }
+        if (mVertical != vertical) {
+            mVertical = vertical;
+            mBitmap = null;
+            markAllDirty();
+        }
+        if (mCount != count) {
+            rebin(count, mMin, mMax);
+        }
+    }
+
+    /**
+     * Add the weight at a progress position.
+     *
+     * @param position the progress position, ignored if out of range
+     * @param weight   the weight, the column is not less than 0
+     */
+    void add(float position, float weight) {
+        if (position < mMin || position > mMax) {
+            return;
+        }
+        if (0 == mCount) { // not laid out, re-binned by setSize
+            rebin(DEFAULT_COLUMN_COUNT, mMin, mMax);
+        }
+        int column = (int) ((position - mMin) * mCount / getSpan(mMin, mMax));
+        if (column >= mCount) {
+            column = mCount - 1;
+        }
+        float value = Math.max(0, mColumns[column] + weight);
+        mColumns[column] = value;
+        mHasData = true;
+        if (value > mPeak) {
+            mPeak = value;
+            if (mPeak > mScale) {
+                mScale = ceilPowerOfTwo(mPeak);
+                markAllDirty();
+                return;
+            }
+        }
+        if (column < mDirtyStart) {
+            mDirtyStart = column;
+        }
+        if (column + 1 > mDirtyEnd) {
+            mDirtyEnd = column + 1;
+        }
+    }
+
+    /**
+     * Remove all weights.
+     */
+    void clear() {
+        for (int i = 0; i < mCount; i++) {
+            mColumns[i] = 0;
+        }
+        mPeak = 0;
+        mScale = 1f;
+        mHasData = false;
+        markAllDirty();
+    }
+
+    /**
+     * Get the aggregated weight of a column.
+     *
+     * @param column the column index, 0 is the min progress
+     * @return the weight
+     */
+    float getColumn(int column) {
+        return mColumns[column];
+    }
+
+    int getCount() {
+        return mCount;
+    }
+
+    /**
+     * Draw the visible part of heatmap with one bitmap.
+     *
+     * @param canvas       Canvas
+     * @param dst          the rect of track
+     * @param visibleStart the progress at the start of track
+     * @param visibleEnd   the progress at the end of track
+     */
+    void draw(Canvas canvas, Rect dst, float visibleStart, float visibleEnd) {
+        if (0 == mCount) {
+            return;
+        }
+        updateBitmap();
+        float span = getSpan(mMin, mMax);
+        int start = (int) Math.floor((visibleStart - mMin) * mCount / span);
+        int end = (int) Math.ceil((visibleEnd - mMin) * mCount / span);
+        start = Math.max(0, Math.min(start, mCount - 1));
+        end = Math.max(start + 1, Math.min(end, mCount));
+        if (mVertical) {
+            mSrcRect.set(0, mCount - end, 1, mCount - start);
+        } else {
+            mSrcRect.set(start, 0, end, 1);
+        }
+        canvas.drawBitmap(mBitmap, mSrcRect, dst, mPaint);
+    }
+
+    /**
+     * Write the dirty columns to the bitmap.
+     */
+    private void updateBitmap() {
+        if (null == mBitmap) {
+            mBitmap = Bitmap.createBitmap(mVertical ? 1 : mCount, mVertical ? mCount : 1,
+                    Bitmap.Config.ARGB_8888);
+            markAllDirty();
+        }
+        if (mIsRampDirty) {
+            mIsRampDirty = false;
+            for (int i = 0; i < RAMP_SIZE; i++) {
+                mRamp[i] = interpolateColor(mLowColor, mHighColor, (float) i / (RAMP_SIZE - 1));
+            }
+        }
+        if (mDirtyStart >= mDirtyEnd) {
+            return;
+        }
+        for (int i = mDirtyStart; i < mDirtyEnd; i++) {
+            int index = (int) (mColumns[i] / mScale * (RAMP_SIZE - 1));
+            mPixels[mVertical ? mCount - 1 - i : i] = mRamp[Math.min(index, RAMP_SIZE - 1)];
+        }
+        int length = mDirtyEnd - mDirtyStart;
+        if (mVertical) {
+            int top = mCount - mDirtyEnd;
+            mBitmap.setPixels(mPixels, top, 1, 0, top, 1, length);
+        } else {
+            mBitmap.setPixels(mPixels, mDirtyStart, mCount, mDirtyStart, 0, length, 1);
+        }
+        mDirtyStart = mCount;
+        mDirtyEnd = 0;
+    }
+
+    /**
+     * Resample the columns to a new count and range, the weight of an old column is
+     * split to the new columns by overlap, the weight out of the new range is dropped.
+     *
+     * @param count the new column count
+     * @param min   the new min progress
+     * @param max   the new max progress
+     */
+    private void rebin(int count, int min, int max) {
+        float[] columns = new float[count];
+        if (mHasData && mCount > 0 && count > 0) {
+            float oldWidth = getSpan(mMin, mMax) / mCount;
+            float newWidth = getSpan(min, max) / count;
+            float peak = 0;
+            for (int i = 0; i < mCount; i++) {
+                float value = mColumns[i];
+                if (0 == value) {
+                    continue;
+                }
+                float start = (mMin + i * oldWidth - min) / newWidth;
+                float end = start + oldWidth / newWidth;
+                float density = value / (end - start);
+                int j = Math.max(0, (int) Math.floor(start));
+                while (j < count && j < end) {
+                    float overlap = Math.min(end, j + 1) - Math.max(start, j);
+                    if (overlap > 0) {
+                        columns[j] += density * overlap;
+                        peak = Math.max(peak, columns[j]);
+                    }
+                    j++;
+                }
+            }
+            mPeak = peak;
+            mScale = peak > 1f ? ceilPowerOfTwo(peak) : 1f;
+        }
+        mColumns = columns;
+        mCount = count;
+        mMin = min;
+        mMax = max;
+        if (mPixels.length != count) {
+            mPixels = new int[count];
+            mBitmap = null;
+        }
+        markAllDirty();
+    }
+
+    private void markAllDirty() {
+        mDirtyStart = 0;
+        mDirtyEnd = mCount;
+    }
+
+    private static float getSpan(int min, int max) {
+        return Math.max(max - min, 1);
+    }
+
+    /**
+     * Return the least power of two which is not less than the value.
+     *
+     * @param value the positive value
+     * @return the power of two
+     */
+    private static float ceilPowerOfTwo(float value) {
+        float power = Math.scalb(1f, Math.getExponent(value));
+        return power < value ? power * 2 : power;
+    }
+
+    private static int interpolateColor(int startColor, int endColor, float fraction) {
+        int a = (int) (Color.alpha(startColor) + (Color.alpha(endColor) - Color.alpha(startColor)) * fraction);
+        int r = (int) (Color.red(startColor) + (Color.red(endColor) - Color.red(startColor)) * fraction);
+        int g = (int) (Color.green(startColor) + (Color.green(endColor) - Color.green(startColor)) * fraction);
+        int b = (int) (Color.blue(startColor) + (Color.blue(endColor) - Color.blue(startColor)) * fraction);
+        return Color.argb(a, r, g, b);
+    }
+}
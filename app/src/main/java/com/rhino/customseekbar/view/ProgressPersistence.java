@@ -0,0 +1,264 @@
+package com.rhino.customseekbar.view;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Persist the progress of many {@link CustomSeekBar} with write-behind.</p>
+ * The changes are coalesced in memory, and written to the {@link ProgressStore} in batch
+ * on a background thread, when a change is finished or after a delay. All bound views
+ * are restored from one bulk read.
+ * Follow this example:
+ *
+ * <pre class="prettyprint">
+ * ProgressPersistence persistence = new ProgressPersistence(
+ *         new FileProgressStore(context, "seekbar_progress"));
+ * persistence.bind(volumeSeekBar, "volume");
+ * persistence.bind(brightnessSeekBar, "brightness");
+ * </pre>
+ * The methods must be called on the main thread.
+ **/
+public class ProgressPersistence {
+
+    private static final String TAG = "ProgressPersistence";
+    private static final long DEFAULT_FLUSH_DELAY = 1000;
+
+    private ProgressStore mStore;
+    private long mFlushDelay = DEFAULT_FLUSH_DELAY;
+    private Handler mMainHandler;
+    private HandlerThread mWorkThread;
+    private Handler mWorkHandler;
+
+    /**
+     * The bound views by key, main thread only.
+     */
+    private HashMap<String, CustomSeekBar> mBoundViews = new HashMap<>();
+    /**
+     * The latest known values by key, main thread only. Null until restored.
+     */
+    private HashMap<String, Integer> mValues;
+    /**
+     * The values changed before restored, main thread only.
+     */
+    private HashMap<String, Integer> mChangesBeforeRestore = new HashMap<>();
+    /**
+     * The changes not written yet, guarded by itself.
+     */
+    private final HashMap<String, Integer> mPendingChanges = new HashMap<>();
+    private boolean mIsFlushScheduled = false;
+
+    public ProgressPersistence(ProgressStore store) {
+        this(store, null);
+    }
+
+    /**
+     * Create the persistence which reads and writes on the given looper.
+     *
+     * @param store      the store
+     * @param workLooper the looper to read and write on, null to start a background thread
+     */
+    ProgressPersistence(ProgressStore store, Looper workLooper) {
+        mStore = store;
+        mMainHandler = new Handler(Looper.getMainLooper());
+        if (null == workLooper) {
+            mWorkThread = new HandlerThread(TAG, Process.THREAD_PRIORITY_BACKGROUND);
+            mWorkThread.start();
+            workLooper = mWorkThread.getLooper();
+        }
+        mWorkHandler = new Handler(workLooper);
+        mWorkHandler.post(mRestoreRunnable);
+    }
+
+    /**
+     * Set the delay to write the changes which are not finished.
+     *
+     * @param delay the delay in ms
+     */
+    public void setFlushDelay(long delay) {
+        mFlushDelay = delay;
+    }
+
+    /**
+     * Bind the seek bar to a key, its progress is restored if the values are read.
+     *
+     * @param seekBar the seek bar
+     * @param key     the key of stored progress
+     */
+    public void bind(CustomSeekBar seekBar, String key) {
+        CustomSeekBar oldSeekBar = mBoundViews.put(key, seekBar);
+        if (null != oldSeekBar && oldSeekBar != seekBar) {
+            oldSeekBar.setProgressPersistence(null, null);
+        }
+        seekBar.setProgressPersistence(this, key);
+        if (null != mValues) {
+            restore(seekBar, mValues.get(key));
+        }
+    }
+
+    /**
+     * Unbind the seek bar, the changes not written are kept.
+     *
+     * @param seekBar the seek bar
+     */
+    public void unbind(CustomSeekBar seekBar) {
+        String key = seekBar.getProgressPersistenceKey();
+        if (null != key && mBoundViews.get(key) == seekBar) {
+            mBoundViews.remove(key);
+        }
+        seekBar.setProgressPersistence(null, null);
+    }
+
+    /**
+     * Write all changes now, on the background thread.
+     */
+    public void flush() {
+        synchronized (mPendingChanges) {
+            mIsFlushScheduled = true;
+        }
+        mWorkHandler.removeCallbacks(mFlushRunnable);
+        mWorkHandler.post(mFlushRunnable);
+    }
+
+    /**
+     * Write all changes and stop the background thread.
+     */
+    public void release() {
+        for (CustomSeekBar seekBar : mBoundViews.values()) {
+            seekBar.setProgressPersistence(null, null);
+        }
+        mBoundViews.clear();
+        flush();
+        if (null == mWorkThread) {
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= 18) {
+            mWorkThread.quitSafely();
+        } else {
+            mWorkHandler.post(new Runnable() { // after the flush
+                @Override
+                public void run() {
+                    mWorkThread.quit();
+                }
+            });
+        }
+    }
+
+    /**
+     * Called by the bound seek bar when the progress changed.
+     *
+     * @param key        the key
+     * @param progress   the progress
+     * @param isFinished whether changing is finished
+     */
+    void onProgressChanged(String key, int progress, boolean isFinished) {
+        HashMap<String, Integer> values = null != mValues ? mValues : mChangesBeforeRestore;
+        Integer value = values.get(key);
+        boolean changed = null == value || value != progress;
+        boolean schedule = false;
+        boolean pending;
+        synchronized (mPendingChanges) {
+            if (changed) {
+                values.put(key, progress);
+                mPendingChanges.put(key, progress);
+                schedule = !mIsFlushScheduled;
+                mIsFlushScheduled = true;
+            }
+            pending = !mPendingChanges.isEmpty();
+        }
+        if (isFinished && pending) {
+            mWorkHandler.removeCallbacks(mFlushRunnable);
+            mWorkHandler.post(mFlushRunnable);
+        } else if (schedule) {
+            mWorkHandler.postDelayed(mFlushRunnable, mFlushDelay);
+        }
+    }
+
+    /**
+     * Restore the progress of seek bar.
+     *
+     * @param seekBar the seek bar
+     * @param value   the stored progress, null if not stored
+     */
+    private void restore(CustomSeekBar seekBar, Integer value) {
+        if (null != value && value != seekBar.getProgress()) {
+            seekBar.setProgress(value, false, false);
+        }
+    }
+
+    /**
+     * The runnable to write the changes, on the background thread.
+     * A failed batch is put back to the pending changes, unless the key is changed again,
+     * and written by the next flush.
+     */
+    private Runnable mFlushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            HashMap<String, Integer> changes;
+            synchronized (mPendingChanges) {
+                mIsFlushScheduled = false;
+                if (mPendingChanges.isEmpty()) {
+                    return;
+                }
+                changes = new HashMap<>(mPendingChanges);
+                mPendingChanges.clear();
+            }
+            try {
+                mStore.write(changes);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write progress", e);
+                synchronized (mPendingChanges) {
+                    for (Map.Entry<String, Integer> entry : changes.entrySet()) {
+                        if (!mPendingChanges.containsKey(entry.getKey())) {
+                            mPendingChanges.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * The runnable to read all values, on the background thread.
+     */
+    private Runnable mRestoreRunnable = new Runnable() {
+        @Override
+        public void run() {
+            Map<String, Integer> values;
+            try {
+                values = mStore.readAll();
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to read progress", e);
+                values = new HashMap<>();
+            }
+            final HashMap<String, Integer> restored = new HashMap<>(values);
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    onRestored(restored);
+                }
+            });
+        }
+    };
+
+    /**
+     * Apply the values read, the keys changed before are not restored.
+     *
+     * @param values the values read
+     */
+    private void onRestored(HashMap<String, Integer> values) {
+        values.putAll(mChangesBeforeRestore);
+        mChangesBeforeRestore.clear();
+        mValues = values;
+        for (Map.Entry<String, CustomSeekBar> entry : mBoundViews.entrySet()) {
+            restore(entry.getValue(), values.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.rhino.customseekbar.view;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * <p>The storage of {@link ProgressPersistence}.</p>
+ * The methods are called on the background thread of persistence, one at a time.
+ **/
+public interface ProgressStore {
+
+    /**
+     * Read all stored progress values in one bulk read.
+     *
+     * @return the values by key, empty if nothing stored
+     * @throws IOException if read failed
+     */
+    Map<String, Integer> readAll() throws IOException;
+
+    /**
+     * Write a batch of changed values, merged with the values already stored.
+     *
+     * @param changes the changed values by key
+     * @throws IOException if write failed
+     */
+    void write(Map<String, Integer> changes) throws IOException;
+}
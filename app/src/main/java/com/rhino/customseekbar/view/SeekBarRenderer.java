@@ -0,0 +1,91 @@
+package com.rhino.customseekbar.view;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * <p>Render a {@link CustomSeekBar} into bitmaps off screen, such as for
+ * home-screen widgets and media notifications, which can not host custom views.</p>
+ * The same drawing as the view is used: background, progress, section points,
+ * labels and thumb. It can be created and used on a background thread, the seek bar
+ * is never attached to a window.
+ * Follow this example:
+ *
+ * <pre class="prettyprint">
+ * BitmapPool pool = new BitmapPool();
+ * SeekBarRenderer renderer = new SeekBarRenderer(context, null, width, height, pool);
+ * renderer.edit().setMaxProgress(durationSeconds).setProgressColor(color).apply();
+ *
+ * Bitmap bitmap = renderer.render(positionSeconds);
+ * remoteViews.setImageViewBitmap(R.id.progress, bitmap);
+ * notificationManager.notify(id, builder.build());
+ * pool.release(bitmap); // the bitmap is parceled, reuse it for the next frame
+ * </pre>
+ **/
+public class SeekBarRenderer {
+
+    private CustomSeekBar mSeekBar;
+    private BitmapPool mBitmapPool;
+    private Canvas mCanvas;
+    private int mWidth;
+    private int mHeight;
+
+    /**
+     * @param context the context, the application context is used
+     * @param attrs   the attributes of seek bar, may be null
+     * @param width   the bitmap width
+     * @param height  the bitmap height
+     * @param pool    the pool which the bitmaps come from
+     */
+    public SeekBarRenderer(Context context, AttributeSet attrs, int width, int height, BitmapPool pool) {
+        mSeekBar = new CustomSeekBar(context.getApplicationContext(), attrs);
+        mBitmapPool = pool;
+        mCanvas = new Canvas();
+        mWidth = width;
+        mHeight = height;
+        mSeekBar.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        mSeekBar.layout(0, 0, width, height);
+    }
+
+    /**
+     * Change the configuration of seek bar, the same as {@link CustomSeekBar#edit()}.
+     * It must not be called while rendering on another thread.
+     *
+     * @return the editor
+     */
+    public CustomSeekBar.Editor edit() {
+        return mSeekBar.edit();
+    }
+
+    /**
+     * Render the progress into a bitmap from pool.
+     * Release the bitmap to pool when it is not used.
+     *
+     * @param progress progress
+     * @return the bitmap
+     */
+    public Bitmap render(int progress) {
+        Bitmap bitmap = mBitmapPool.acquire(mWidth, mHeight);
+        render(progress, bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Render the progress into the bitmap, which is mutable and of the renderer size.
+     *
+     * @param progress progress
+     * @param bitmap   the bitmap
+     */
+    public synchronized void render(int progress, Bitmap bitmap) {
+        bitmap.eraseColor(Color.TRANSPARENT);
+        mSeekBar.setProgress(progress, false, false);
+        mCanvas.setBitmap(bitmap);
+        mSeekBar.draw(mCanvas);
+        mCanvas.setBitmap(null);
+    }
+}
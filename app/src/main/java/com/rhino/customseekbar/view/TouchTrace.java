@@ -0,0 +1,164 @@
+package com.rhino.customseekbar.view;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * <p>A recorded stream of touch events of {@link CustomSeekBar}.</p>
+ * The binary format is big-endian:
+ *
+ * <pre>
+ * int   magic 'CSBT'
+ * byte  version
+ * int   view width, int view height
+ * int   event count
+ * event count * (byte action, int time delta in ms, float x, float y)
+ * </pre>
+ * The x and y are in pixel of the recorded view, they should be scaled when replayed
+ * on a view of another size.
+ **/
+public class TouchTrace {
+
+    private static final int MAGIC = 0x43534254;
+    private static final int VERSION = 1;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int mViewWidth;
+    private int mViewHeight;
+    private int mCount;
+    private byte[] mActions = new byte[DEFAULT_CAPACITY];
+    private long[] mTimes = new long[DEFAULT_CAPACITY];
+    private float[] mXs = new float[DEFAULT_CAPACITY];
+    private float[] mYs = new float[DEFAULT_CAPACITY];
+
+    public TouchTrace(int viewWidth, int viewHeight) {
+        mViewWidth = viewWidth;
+        mViewHeight = viewHeight;
+    }
+
+    /**
+     * Append an event.
+     *
+     * @param action the masked action of MotionEvent
+     * @param time   the event time in ms
+     * @param x      x
+     * @param y      y
+     */
+    public void add(int action, long time, float x, float y) {
+        if (mCount == mActions.length) {
+            int capacity = mCount * 2;
+            byte[] actions = new byte[capacity];
+            long[] times = new long[capacity];
+            float[] xs = new float[capacity];
+            float[] ys = new float[capacity];
+            System.arraycopy(mActions, 0, actions, 0, mCount);
+            System.arraycopy(mTimes, 0, times, 0, mCount);
+            System.arraycopy(mXs, 0, xs, 0, mCount);
+            System.arraycopy(mYs, 0, ys, 0, mCount);
+            mActions = actions;
+            mTimes = times;
+            mXs = xs;
+            mYs = ys;
+        }
+        mActions[mCount] = (byte) action;
+        mTimes[mCount] = time;
+        mXs[mCount] = x;
+        mYs[mCount] = y;
+        mCount++;
+    }
+
+    /**
+     * Remove all events.
+     */
+    public void clear() {
+        mCount = 0;
+    }
+
+    public int getViewWidth() {
+        return mViewWidth;
+    }
+
+    public int getViewHeight() {
+        return mViewHeight;
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    public int getAction(int index) {
+        return mActions[index];
+    }
+
+    /**
+     * Get the event time, relative to the first event.
+     *
+     * @param index the event index
+     * @return the time in ms
+     */
+    public long getTime(int index) {
+        return mTimes[index] - mTimes[0];
+    }
+
+    public float getX(int index) {
+        return mXs[index];
+    }
+
+    public float getY(int index) {
+        return mYs[index];
+    }
+
+    /**
+     * Write the trace, the stream is not closed.
+     *
+     * @param out OutputStream
+     * @throws IOException if write failed
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(mViewWidth);
+        data.writeInt(mViewHeight);
+        data.writeInt(mCount);
+        long lastTime = mCount > 0 ? mTimes[0] : 0;
+        for (int i = 0; i < mCount; i++) {
+            data.writeByte(mActions[i]);
+            data.writeInt((int) (mTimes[i] - lastTime));
+            data.writeFloat(mXs[i]);
+            data.writeFloat(mYs[i]);
+            lastTime = mTimes[i];
+        }
+        data.flush();
+    }
+
+    /**
+     * Read a trace, the stream is not closed.
+     *
+     * @param in InputStream
+     * @return the trace
+     * @throws IOException if read failed or not a trace
+     */
+    public static TouchTrace readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a touch trace");
+        }
+        int version = data.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported touch trace version " + version);
+        }
+        TouchTrace trace = new TouchTrace(data.readInt(), data.readInt());
+        int count = data.readInt();
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            int action = data.readByte();
+            time += data.readInt();
+            trace.add(action, time, data.readFloat(), data.readFloat());
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,64 @@
+package com.rhino.customseekbar.view;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * <p>Record the touch events of a live {@link CustomSeekBar} into a {@link TouchTrace}.</p>
+ * The recorder is set as the OnTouchListener of the view and never consumes the events.
+ * Only single pointer events are recorded.
+ * Follow this example:
+ *
+ * <pre class="prettyprint">
+ * TouchTraceRecorder recorder = TouchTraceRecorder.attach(seekBar);
+ * // do the gesture
+ * recorder.detach();
+ * recorder.getTrace().writeTo(out);
+ * </pre>
+ **/
+public class TouchTraceRecorder implements View.OnTouchListener {
+
+    private CustomSeekBar mSeekBar;
+    private TouchTrace mTrace;
+
+    private TouchTraceRecorder(CustomSeekBar seekBar) {
+        mSeekBar = seekBar;
+        mTrace = new TouchTrace(seekBar.getWidth(), seekBar.getHeight());
+    }
+
+    /**
+     * Start recording the touch events of the seek bar.
+     *
+     * @param seekBar the seek bar which is laid out
+     * @return the recorder
+     */
+    public static TouchTraceRecorder attach(CustomSeekBar seekBar) {
+        TouchTraceRecorder recorder = new TouchTraceRecorder(seekBar);
+        seekBar.setOnTouchListener(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stop recording.
+     */
+    public void detach() {
+        mSeekBar.setOnTouchListener(null);
+    }
+
+    /**
+     * Get the recorded trace.
+     *
+     * @return the trace
+     */
+    public TouchTrace getTrace() {
+        return mTrace;
+    }
+
+    @Override
+    public boolean onTouch(View v, MotionEvent event) {
+        if (event.getPointerCount() == 1) {
+            mTrace.add(event.getActionMasked(), event.getEventTime(), event.getX(), event.getY());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.rhino.customseekbar.view;
+
+import android.content.Context;
+
+/**
+ * A {@link CustomSeekBar} which counts the calls of {@link #invalidate()}.
+ */
+class CountingSeekBar extends CustomSeekBar {
+
+    private int mInvalidateCount;
+
+    CountingSeekBar(Context context) {
+        super(context);
+    }
+
+    @Override
+    public void invalidate() {
+        mInvalidateCount++;
+        super.invalidate();
+    }
+
+    /**
+     * Get the count of invalidate called.
+     *
+     * @return the count
+     */
+    int getInvalidateCount() {
+        return mInvalidateCount;
+    }
+}
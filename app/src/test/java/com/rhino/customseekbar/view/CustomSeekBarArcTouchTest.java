@@ -0,0 +1,97 @@
+package com.rhino.customseekbar.view;
+
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.rhino.customseekbar.R;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the touch on the track of ARC orientation, the sweep is from 135 to 45 degrees
+ * clockwise, so the open sector is at the bottom.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class CustomSeekBarArcTouchTest {
+
+    private static final int SIZE = 300;
+    private static final int INITIAL_PROGRESS = 50;
+
+    private CustomSeekBar mSeekBar;
+    private float mTrackRadius;
+    private int mListenerCalls;
+
+    @Before
+    public void setUp() {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.csb_orientation, "arc")
+                .build();
+        mSeekBar = new CustomSeekBar(RuntimeEnvironment.application, attrs);
+        mSeekBar.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        mSeekBar.layout(0, 0, SIZE, SIZE);
+        mSeekBar.setProgress(INITIAL_PROGRESS);
+        mSeekBar.setOnProgressChangedListener(new CustomSeekBar.OnProgressChangedListener() {
+            @Override
+            public void onChanged(CustomSeekBar seekBar, boolean fromUser, boolean isFinished) {
+                mListenerCalls++;
+            }
+        });
+        float thumbRadius = RuntimeEnvironment.application.getResources().getDisplayMetrics().density * 18;
+        mTrackRadius = SIZE / 2f - thumbRadius;
+    }
+
+    @Test
+    public void tapInSweep_movesToAngle() {
+        tap(0); // 225 of 270 degrees
+        assertEquals(83, mSeekBar.getProgress(), 1);
+        assertEquals(1, mListenerCalls);
+
+        tap(180); // 45 of 270 degrees
+        assertEquals(17, mSeekBar.getProgress(), 1);
+    }
+
+    @Test
+    public void tapNearEnd_snapsToEnd() {
+        tap(47);
+        assertEquals(100, mSeekBar.getProgress());
+
+        tap(133);
+        assertEquals(0, mSeekBar.getProgress());
+    }
+
+    @Test
+    public void tapInOpenSector_ignored() {
+        tap(90);
+        tap(70);
+        tap(110);
+
+        assertEquals(INITIAL_PROGRESS, mSeekBar.getProgress());
+        assertEquals(0, mListenerCalls);
+    }
+
+    /**
+     * Tap on the track at the angle, 0 degree is at 3 o'clock and clockwise is positive.
+     */
+    private void tap(double degrees) {
+        double radians = Math.toRadians(degrees);
+        float x = (float) (SIZE / 2f + mTrackRadius * Math.cos(radians));
+        float y = (float) (SIZE / 2f + mTrackRadius * Math.sin(radians));
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, x, y, 0);
+        MotionEvent up = MotionEvent.obtain(0, 50, MotionEvent.ACTION_UP, x, y, 0);
+        mSeekBar.dispatchTouchEvent(down);
+        mSeekBar.dispatchTouchEvent(up);
+        down.recycle();
+        up.recycle();
+    }
+}
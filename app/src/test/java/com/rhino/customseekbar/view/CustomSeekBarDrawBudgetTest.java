@@ -0,0 +1,295 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.RectF;
+import android.graphics.drawable.ColorDrawable;
+import android.util.AttributeSet;
+import android.view.View;
+
+import com.rhino.customseekbar.R;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Per-frame rendering budgets of {@link CustomSeekBar#onDraw}, checked on the JVM
+ * with a {@link RecordingCanvas}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class CustomSeekBarDrawBudgetTest {
+
+    private static final int LENGTH = 600;
+    private static final int THICKNESS = 100;
+    private static final int WARM_UP_FRAMES = 10;
+    private static final int MEASURED_FRAMES = 100;
+    private static final long ALLOCATION_SLACK_PER_FRAME = 64;
+    private static final int MAX_SAVE_COUNT = 5;
+    private static final int BASE_DRAW_COUNT = 3; // background, progress, thumb
+    private static final String[] ORIENTATIONS = {"horizontal", "vertical", "arc"};
+    private static final String[] LINEAR_ORIENTATIONS = {"horizontal", "vertical"};
+    private static final int[] MAX_VALUES = {2, 100, 1000, 3600000};
+    private static final int SECTION_RADIUS_DP = 6;
+
+    private RecordingCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mCanvas = new RecordingCanvas();
+    }
+
+    @Test
+    public void saveAndRestore_areBalancedAndBounded() {
+        for (String orientation : ORIENTATIONS) {
+            for (int maxValue : MAX_VALUES) {
+                for (int flags = 0; flags < 8; flags++) {
+                    boolean overspread = (flags & 1) != 0;
+                    boolean section = (flags & 2) != 0;
+                    boolean thumbDrawable = (flags & 4) != 0;
+                    CustomSeekBar seekBar = createSeekBar(orientation, overspread, section,
+                            maxValue, thumbDrawable);
+                    String config = describe(orientation, overspread, section, maxValue, thumbDrawable);
+
+                    drawFrame(seekBar);
+                    assertEquals(config, mCanvas.saveCount, mCanvas.restoreCount);
+                    assertTrue(config + " saves " + mCanvas.saveCount,
+                            mCanvas.saveCount <= MAX_SAVE_COUNT);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void drawCalls_withinBudget() {
+        for (String orientation : ORIENTATIONS) {
+            for (int maxValue : MAX_VALUES) {
+                for (int flags = 0; flags < 8; flags++) {
+                    boolean overspread = (flags & 1) != 0;
+                    boolean section = (flags & 2) != 0;
+                    boolean thumbDrawable = (flags & 4) != 0;
+                    CustomSeekBar seekBar = createSeekBar(orientation, overspread, section,
+                            maxValue, thumbDrawable);
+                    String config = describe(orientation, overspread, section, maxValue, thumbDrawable);
+                    // at most one section point per dot diameter of track, whatever the range
+                    int sectionCount = section ? getMaxSectionCount(orientation) : 0;
+
+                    drawFrame(seekBar);
+                    assertTrue(config + " draws " + mCanvas.circleCount + " circles",
+                            mCanvas.circleCount <= sectionCount + (thumbDrawable ? 0 : 1));
+                    assertTrue(config + " draws " + mCanvas.getDrawCount(),
+                            mCanvas.getDrawCount() <= BASE_DRAW_COUNT + sectionCount);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void drawCalls_stableAcrossFrames() {
+        CustomSeekBar seekBar = createSeekBar("horizontal", false, true, 100, false);
+        drawFrame(seekBar);
+        int first = mCanvas.getDrawCount();
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            seekBar.setProgress(i * 10);
+            drawFrame(seekBar);
+            assertEquals(first, mCanvas.getDrawCount());
+        }
+    }
+
+    @Test
+    public void sectionPoints_culledToVisibleRange() {
+        for (String orientation : ORIENTATIONS) {
+            CustomSeekBar seekBar = createSeekBar(orientation, false, true, 100000, false);
+            seekBar.setVisibleRange(50000, 50010);
+            drawFrame(seekBar);
+            assertEquals(orientation, 11 + 1, mCanvas.circleCount);
+            assertEquals(orientation, mCanvas.saveCount, mCanvas.restoreCount);
+
+            seekBar.resetVisibleRange();
+            assertEquals(orientation, 0, seekBar.getVisibleStart());
+            assertEquals(orientation, 100000, seekBar.getVisibleEnd());
+        }
+    }
+
+    @Test
+    public void labels_overlappedAreCulled() {
+        for (String orientation : LINEAR_ORIENTATIONS) {
+            int maxValue = 1000;
+            CustomSeekBar seekBar = createSeekBar(orientation, false, false, maxValue, true);
+            seekBar.setLabelStep(1);
+            drawFrame(seekBar);
+            int labelCount = mCanvas.textCount;
+            assertTrue(orientation + " draws " + labelCount + " labels",
+                    labelCount > 0 && labelCount < maxValue + 1);
+
+            drawFrame(seekBar);
+            assertEquals(orientation, labelCount, mCanvas.textCount);
+            assertTrue(orientation + " draws " + mCanvas.getDrawCount(),
+                    mCanvas.getDrawCount() <= BASE_DRAW_COUNT + labelCount);
+        }
+    }
+
+    @Test
+    public void labels_culledToVisibleRange() {
+        for (String orientation : LINEAR_ORIENTATIONS) {
+            CustomSeekBar seekBar = createSeekBar(orientation, false, false, 100000, true);
+            seekBar.setLabelStep(1);
+            seekBar.setVisibleRange(50000, 50010);
+            drawFrame(seekBar);
+            assertTrue(orientation + " draws " + mCanvas.textCount + " labels",
+                    mCanvas.textCount > 0 && mCanvas.textCount <= 11);
+        }
+    }
+
+    @Test
+    public void labels_formattedByTrackLength() {
+        for (String orientation : LINEAR_ORIENTATIONS) {
+            CustomSeekBar seekBar = createSeekBar(orientation, false, false, 3600000, true);
+            final int[] formatCount = new int[1];
+            seekBar.setLabelFormatter(new CustomSeekBar.LabelFormatter() {
+                @Override
+                public String format(int value) {
+                    formatCount[0]++;
+                    return String.valueOf(value);
+                }
+            });
+            seekBar.setLabelStep(1);
+            drawFrame(seekBar);
+            assertTrue(orientation + " draws " + mCanvas.textCount + " labels", mCanvas.textCount > 0);
+            assertTrue(orientation + " formats " + formatCount[0] + " labels", formatCount[0] < LENGTH);
+        }
+    }
+
+    @Test
+    public void labels_insideView() {
+        for (String orientation : LINEAR_ORIENTATIONS) {
+            boolean horizontal = "horizontal".equals(orientation);
+            AttributeSet attrs = Robolectric.buildAttributeSet()
+                    .addAttribute(R.attr.csb_orientation, orientation)
+                    .addAttribute(R.attr.csb_thumb_radius, "12dp")
+                    .addAttribute(R.attr.csb_thumb_scale_enable, "true")
+                    .addAttribute(R.attr.csb_label_step, "10")
+                    .build();
+            CustomSeekBar seekBar = new CustomSeekBar(RuntimeEnvironment.application, attrs);
+            int lengthSpec = View.MeasureSpec.makeMeasureSpec(LENGTH, View.MeasureSpec.EXACTLY);
+            int wrapSpec = View.MeasureSpec.makeMeasureSpec(LENGTH, View.MeasureSpec.AT_MOST);
+            seekBar.measure(horizontal ? lengthSpec : wrapSpec, horizontal ? wrapSpec : lengthSpec);
+            int width = seekBar.getMeasuredWidth();
+            int height = seekBar.getMeasuredHeight();
+            assertTrue(orientation + " wraps " + width + "x" + height, (horizontal ? height : width) > 0);
+            seekBar.layout(0, 0, width, height);
+
+            drawFrame(seekBar);
+            RectF bounds = mCanvas.textBounds;
+            assertTrue(orientation + " draws " + mCanvas.textCount + " labels", mCanvas.textCount > 0);
+            // one pixel of slack for the rounding of track center
+            assertTrue(orientation + " labels " + bounds + " in " + width + "x" + height,
+                    bounds.left >= -1 && bounds.top >= -1
+                            && bounds.right <= width + 1 && bounds.bottom <= height + 1);
+        }
+    }
+
+    @Test
+    public void allocations_doNotGrowWithRange() {
+        for (String orientation : ORIENTATIONS) {
+            for (int flags = 0; flags < 8; flags++) {
+                boolean overspread = (flags & 1) != 0;
+                boolean section = (flags & 2) != 0;
+                boolean thumbDrawable = (flags & 4) != 0;
+                long small = measureAllocatedBytesPerFrame(
+                        createSeekBar(orientation, overspread, section, 10, thumbDrawable));
+                long large = measureAllocatedBytesPerFrame(
+                        createSeekBar(orientation, overspread, section, 100000, thumbDrawable));
+                String config = describe(orientation, overspread, section, 100000, thumbDrawable);
+                assertTrue(config + " allocates " + large + " bytes per frame, range 10 allocates " + small,
+                        large <= small + ALLOCATION_SLACK_PER_FRAME);
+            }
+        }
+    }
+
+    /**
+     * Create a laid out seek bar, the progress is in the middle.
+     */
+    private CustomSeekBar createSeekBar(String orientation, boolean overspread, boolean section,
+                                        int maxValue, boolean thumbDrawable) {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.csb_orientation, orientation)
+                .addAttribute(R.attr.csb_overspread_enable, String.valueOf(overspread))
+                .addAttribute(R.attr.csb_section_enable, String.valueOf(section))
+                .addAttribute(R.attr.csb_max_value, String.valueOf(maxValue))
+                .build();
+        CustomSeekBar seekBar = new CustomSeekBar(RuntimeEnvironment.application, attrs);
+        if (thumbDrawable) {
+            seekBar.setThumbDrawable(new ColorDrawable(0xFF000000));
+        }
+        int width;
+        int height;
+        if ("horizontal".equals(orientation)) {
+            width = LENGTH;
+            height = THICKNESS;
+        } else if ("vertical".equals(orientation)) {
+            width = THICKNESS;
+            height = LENGTH;
+        } else {
+            width = LENGTH / 2;
+            height = LENGTH / 2;
+        }
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, width, height);
+        seekBar.setProgress(maxValue / 2);
+        return seekBar;
+    }
+
+    /**
+     * Return the max count of section points, one per dot diameter of the longest
+     * track which fits the view.
+     */
+    private static int getMaxSectionCount(String orientation) {
+        float density = RuntimeEnvironment.application.getResources().getDisplayMetrics().density;
+        float trackLength = "arc".equals(orientation) ? (float) Math.PI * LENGTH / 2 : LENGTH;
+        return (int) (trackLength / (2 * SECTION_RADIUS_DP * density)) + 1;
+    }
+
+    private void drawFrame(CustomSeekBar seekBar) {
+        mCanvas.reset();
+        seekBar.onDraw(mCanvas);
+    }
+
+    /**
+     * Return the average bytes allocated by the current thread per steady-state frame.
+     */
+    private long measureAllocatedBytesPerFrame(CustomSeekBar seekBar) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(sunBean.isThreadAllocatedMemorySupported());
+        sunBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            drawFrame(seekBar);
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = sunBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            drawFrame(seekBar);
+        }
+        return (sunBean.getThreadAllocatedBytes(threadId) - start) / MEASURED_FRAMES;
+    }
+
+    private static String describe(String orientation, boolean overspread, boolean section,
+                                   int maxValue, boolean thumbDrawable) {
+        return orientation + ", overspread=" + overspread + ", section=" + section
+                + ", max=" + maxValue + ", thumbDrawable=" + thumbDrawable;
+    }
+}
@@ -0,0 +1,137 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.drawable.ColorDrawable;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the batched changes by {@link CustomSeekBar#edit()}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class CustomSeekBarEditTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 100;
+
+    private CountingSeekBar mSeekBar;
+    private int mListenerCalls;
+
+    @Before
+    public void setUp() {
+        mSeekBar = new CountingSeekBar(RuntimeEnvironment.application);
+        mSeekBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mSeekBar.layout(0, 0, WIDTH, HEIGHT);
+        mSeekBar.setOnProgressChangedListener(new CustomSeekBar.OnProgressChangedListener() {
+            @Override
+            public void onChanged(CustomSeekBar seekBar, boolean fromUser, boolean isFinished) {
+                mListenerCalls++;
+            }
+        });
+    }
+
+    @Test
+    public void apply_redrawsOnce() {
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mSeekBar.edit()
+                .setMinProgress(10)
+                .setMaxProgress(200)
+                .setProgressColor(0xFF008888)
+                .setProgressBackgroundColor(0xFFAAAAAA)
+                .setSectionEnable(true)
+                .setThumbDrawable(new ColorDrawable(0xFF000000))
+                .setLabelStep(50)
+                .setProgress(150)
+                .apply();
+
+        assertEquals(invalidateCount + 1, mSeekBar.getInvalidateCount());
+        assertEquals(150, mSeekBar.getProgress());
+        assertEquals(1, mListenerCalls);
+    }
+
+    @Test
+    public void apply_withoutChangesDoesNotRedraw() {
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mSeekBar.edit()
+                .setMaxProgress(100)
+                .setSectionEnable(false)
+                .apply();
+
+        assertEquals(invalidateCount, mSeekBar.getInvalidateCount());
+    }
+
+    @Test
+    public void apply_sameValuesDoNotRedraw() {
+        CustomSeekBar.LabelFormatter formatter = new CustomSeekBar.LabelFormatter() {
+            @Override
+            public String format(int value) {
+                return value + "%";
+            }
+        };
+        mSeekBar.edit()
+                .setLabelStep(25)
+                .setLabelFormatter(formatter)
+                .setLabelTextSize(20f)
+                .setLabelColor(0xFF333333)
+                .setHeatmapColors(0x00FF0000, 0xFFFF0000)
+                .apply();
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mSeekBar.edit()
+                .setLabelStep(25)
+                .setLabelFormatter(formatter)
+                .setLabelTextSize(20f)
+                .setLabelColor(0xFF333333)
+                .setHeatmapColors(0x00FF0000, 0xFFFF0000)
+                .apply();
+        mSeekBar.setLabelStep(25);
+        mSeekBar.setLabelColor(0xFF333333);
+        mSeekBar.setHeatmapColors(0x00FF0000, 0xFFFF0000);
+
+        assertEquals(invalidateCount, mSeekBar.getInvalidateCount());
+    }
+
+    @Test
+    public void apply_progressDoesNotLayoutLabels() {
+        final int[] formatCount = new int[1];
+        mSeekBar.edit()
+                .setLabelStep(10)
+                .setLabelFormatter(new CustomSeekBar.LabelFormatter() {
+                    @Override
+                    public String format(int value) {
+                        formatCount[0]++;
+                        return String.valueOf(value);
+                    }
+                })
+                .apply();
+        RecordingCanvas canvas = new RecordingCanvas();
+        mSeekBar.onDraw(canvas);
+        formatCount[0] = 0;
+        int invalidateCount = mSeekBar.getInvalidateCount();
+
+        mSeekBar.edit().setProgress(70).apply();
+        mSeekBar.onDraw(canvas);
+
+        assertEquals(invalidateCount + 1, mSeekBar.getInvalidateCount());
+        assertEquals(70, mSeekBar.getProgress());
+        assertEquals(0, formatCount[0]);
+    }
+
+    @Test
+    public void setter_redrawsAndClampsProgress() {
+        mSeekBar.setProgress(80);
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mSeekBar.setMaxProgress(50);
+
+        assertEquals(invalidateCount + 1, mSeekBar.getInvalidateCount());
+        assertEquals(50, mSeekBar.getProgress());
+    }
+}
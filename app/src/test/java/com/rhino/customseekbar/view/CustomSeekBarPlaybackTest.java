@@ -0,0 +1,213 @@
+package com.rhino.customseekbar.view;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowChoreographer;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the clock-driven playback of {@link CustomSeekBar}, the frames are driven
+ * by the scheduler of main looper.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class CustomSeekBarPlaybackTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 100;
+    private static final int MAX = 1000000;
+    private static final int FRAME_INTERVAL = 16;
+    private static final int MAX_FRAME_DELAY = 500;
+
+    private CustomSeekBar mSeekBar;
+    private FakeClock mClock;
+    private int mListenerCalls;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        FrameLayout container = new FrameLayout(activity);
+        activity.setContentView(container);
+        mSeekBar = new CustomSeekBar(activity);
+        mSeekBar.setMaxProgress(MAX);
+        container.addView(mSeekBar, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        mSeekBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mSeekBar.layout(0, 0, WIDTH, HEIGHT);
+        mSeekBar.setOnProgressChangedListener(new CustomSeekBar.OnProgressChangedListener() {
+            @Override
+            public void onChanged(CustomSeekBar seekBar, boolean fromUser, boolean isFinished) {
+                mListenerCalls++;
+            }
+        });
+        mClock = new FakeClock();
+        ShadowChoreographer.setPostCallbackDelay(FRAME_INTERVAL);
+    }
+
+    @After
+    public void tearDown() {
+        ShadowChoreographer.setPostCallbackDelay(0);
+    }
+
+    @Test
+    public void frames_interpolateWithoutListener() {
+        mClock.mPosition = 1000;
+        mClock.mRate = 100000;
+        mSeekBar.setPlaybackClock(mClock);
+        assertEquals(1000, mSeekBar.getProgress());
+        mListenerCalls = 0;
+
+        advanceFrames(5);
+
+        assertTrue("progress " + mSeekBar.getProgress(), mSeekBar.getProgress() > 1000);
+        assertEquals(0, mListenerCalls);
+    }
+
+    @Test
+    public void frames_postedPerPixel() {
+        mClock.mPosition = 1000;
+        mClock.mRate = 10; // a pixel is more than a minute
+        mSeekBar.setPlaybackClock(mClock);
+        mClock.mPollCount = 0;
+
+        advanceFrames(60);
+
+        assertTrue("frames " + mClock.mPollCount, mClock.mPollCount <= 60 * FRAME_INTERVAL / MAX_FRAME_DELAY + 1);
+    }
+
+    @Test
+    public void pause_callsListenerOnce() {
+        mClock.mPosition = 1000;
+        mClock.mRate = 0;
+        mSeekBar.setPlaybackClock(mClock);
+        advanceFrames(2);
+        mListenerCalls = 0;
+
+        mClock.mIsPlaying = false;
+        advanceMillis(MAX_FRAME_DELAY + FRAME_INTERVAL); // polled while the thumb can not move
+
+        assertEquals(1, mListenerCalls);
+    }
+
+    @Test
+    public void end_callsListenerOnce() {
+        mClock.mPosition = MAX - 1;
+        mClock.mRate = 100000;
+        mSeekBar.setPlaybackClock(mClock);
+        mListenerCalls = 0;
+
+        advanceFrames(5);
+
+        assertEquals(MAX, mSeekBar.getProgress());
+        assertEquals(1, mListenerCalls);
+    }
+
+    @Test
+    public void drag_holdsThumbAndUpReanchors() {
+        mClock.mPosition = MAX / 2;
+        mClock.mRate = 0;
+        mSeekBar.setPlaybackClock(mClock);
+        advanceFrames(2);
+
+        float y = HEIGHT / 2;
+        long downTime = SystemClock.uptimeMillis();
+        touch(downTime, MotionEvent.ACTION_DOWN, WIDTH / 2, y);
+        touch(downTime, MotionEvent.ACTION_MOVE, WIDTH * 3 / 4, y);
+        int dragged = mSeekBar.getProgress();
+        mClock.mPollCount = 0;
+        advanceFrames(5);
+
+        assertEquals(dragged, mSeekBar.getProgress());
+        assertTrue("frames while dragging " + mClock.mPollCount, mClock.mPollCount <= 1);
+
+        mClock.mRate = MAX;
+        touch(downTime, MotionEvent.ACTION_UP, WIDTH * 3 / 4, y);
+        int dropped = mSeekBar.getProgress();
+        assertTrue("dropped " + dropped, dropped > MAX / 2);
+        mClock.mPollCount = 0;
+        advanceFrames(5);
+
+        // advanced from the drop, not pulled back to the clock position
+        assertTrue("progress " + mSeekBar.getProgress(), mSeekBar.getProgress() > dropped);
+        assertTrue("frames after drop " + mClock.mPollCount, mClock.mPollCount > 1);
+    }
+
+    @Test
+    public void cancel_resumesFrames() {
+        mClock.mPosition = MAX / 2;
+        mClock.mRate = MAX;
+        mSeekBar.setPlaybackClock(mClock);
+        advanceFrames(2);
+
+        float y = HEIGHT / 2;
+        long downTime = SystemClock.uptimeMillis();
+        touch(downTime, MotionEvent.ACTION_DOWN, WIDTH / 4, y); // on the track, not the thumb
+        touch(downTime, MotionEvent.ACTION_CANCEL, WIDTH / 4, y); // intercepted by parent
+        assertTrue(mSeekBar.isFinished());
+        assertEquals(MAX / 2, mSeekBar.getProgress());
+
+        mClock.mPollCount = 0;
+        advanceFrames(5);
+        assertTrue("frames after cancel " + mClock.mPollCount, mClock.mPollCount > 1);
+
+        mSeekBar.setProgress(MAX / 4);
+        assertEquals(MAX / 4, mSeekBar.getProgress());
+    }
+
+    private void advanceFrames(int count) {
+        advanceMillis(count * FRAME_INTERVAL);
+    }
+
+    private void advanceMillis(long millis) {
+        Robolectric.getForegroundThreadScheduler().advanceBy(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void touch(long downTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+        mSeekBar.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    /**
+     * The clock controlled by test, the position is not advanced by itself.
+     */
+    private static class FakeClock implements CustomSeekBar.PlaybackClock {
+
+        float mPosition;
+        float mRate;
+        boolean mIsPlaying = true;
+        int mPollCount;
+
+        @Override
+        public float getPosition() {
+            return mPosition;
+        }
+
+        @Override
+        public float getRate() {
+            return mRate;
+        }
+
+        @Override
+        public boolean isPlaying() {
+            mPollCount++;
+            return mIsPlaying;
+        }
+    }
+}
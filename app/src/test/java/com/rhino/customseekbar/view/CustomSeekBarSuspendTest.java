@@ -0,0 +1,129 @@
+package com.rhino.customseekbar.view;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the suspension of {@link CustomSeekBar} while hidden or detached.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class CustomSeekBarSuspendTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 100;
+
+    private FrameLayout mContainer;
+    private CountingSeekBar mSeekBar;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mContainer = new FrameLayout(activity);
+        activity.setContentView(mContainer);
+        mSeekBar = new CountingSeekBar(activity);
+        mContainer.addView(mSeekBar, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        mSeekBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mSeekBar.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void hidden_progressAppliedOnceWhenShown() {
+        mSeekBar.setVisibility(View.INVISIBLE);
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mSeekBar.setProgress(30, true, false);
+        mSeekBar.setProgress(80, true, false);
+
+        assertEquals(invalidateCount, mSeekBar.getInvalidateCount());
+        assertEquals(80, mSeekBar.getProgress());
+
+        mSeekBar.setVisibility(View.VISIBLE);
+        assertEquals(invalidateCount + 1, mSeekBar.getInvalidateCount());
+        assertEquals(80, mSeekBar.getProgress());
+    }
+
+    @Test
+    public void hiddenParent_suspends() {
+        mContainer.setVisibility(View.GONE);
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mSeekBar.setProgress(40, true, false);
+
+        assertEquals(invalidateCount, mSeekBar.getInvalidateCount());
+        assertEquals(40, mSeekBar.getProgress());
+    }
+
+    @Test
+    public void detached_doesNotRedraw() {
+        mContainer.removeView(mSeekBar);
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mSeekBar.setProgress(60);
+
+        assertEquals(invalidateCount, mSeekBar.getInvalidateCount());
+        assertEquals(60, mSeekBar.getProgress());
+
+        mContainer.addView(mSeekBar, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        assertTrue(mSeekBar.getInvalidateCount() > invalidateCount);
+    }
+
+    @Test
+    public void detachWhileDragging_finishesWithoutRedraw() {
+        final int[] finishedCalls = new int[1];
+        mSeekBar.setProgress(50);
+        mSeekBar.setOnProgressChangedListener(new CustomSeekBar.OnProgressChangedListener() {
+            @Override
+            public void onChanged(CustomSeekBar seekBar, boolean fromUser, boolean isFinished) {
+                if (isFinished) {
+                    finishedCalls[0]++;
+                }
+            }
+        });
+        long downTime = SystemClock.uptimeMillis();
+        touch(downTime, MotionEvent.ACTION_DOWN, WIDTH / 2);
+        touch(downTime, MotionEvent.ACTION_MOVE, WIDTH * 3 / 4);
+        int invalidateCount = mSeekBar.getInvalidateCount();
+        mContainer.removeView(mSeekBar);
+
+        assertEquals(invalidateCount, mSeekBar.getInvalidateCount());
+        assertEquals(1, finishedCalls[0]);
+        assertTrue(mSeekBar.getProgress() > 50);
+
+        int progress = mSeekBar.getProgress();
+        mContainer.addView(mSeekBar, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        assertEquals(progress, mSeekBar.getProgress());
+        mSeekBar.setProgress(10);
+        assertEquals(10, mSeekBar.getProgress()); // the drag is finished
+    }
+
+    @Test
+    public void neverAttached_isNotSuspended() {
+        CountingSeekBar seekBar = new CountingSeekBar(mContainer.getContext());
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, WIDTH, HEIGHT);
+        int invalidateCount = seekBar.getInvalidateCount();
+        seekBar.setProgress(50);
+
+        assertEquals(invalidateCount + 1, seekBar.getInvalidateCount());
+    }
+
+    private void touch(long downTime, int action, float x) {
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, HEIGHT / 2, 0);
+        mSeekBar.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
@@ -0,0 +1,60 @@
+package com.rhino.customseekbar.view;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link FileProgressStore}.
+ */
+public class FileProgressStoreTest {
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void readAll_missingFileIsEmpty() throws Exception {
+        FileProgressStore store = new FileProgressStore(new File(mFolder.getRoot(), "progress"));
+        assertTrue(store.readAll().isEmpty());
+    }
+
+    @Test
+    public void write_mergesBatchesAndReadsBack() throws Exception {
+        File file = new File(mFolder.getRoot(), "progress");
+        FileProgressStore store = new FileProgressStore(file);
+        store.write(changes("volume", 30, "brightness", 80));
+        store.write(changes("volume", 55, "balance", -10));
+
+        Map<String, Integer> values = new FileProgressStore(file).readAll();
+        assertEquals(3, values.size());
+        assertEquals(55, (int) values.get("volume"));
+        assertEquals(80, (int) values.get("brightness"));
+        assertEquals(-10, (int) values.get("balance"));
+    }
+
+    @Test
+    public void write_replacesBrokenFile() throws Exception {
+        File file = new File(mFolder.getRoot(), "progress");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[]{1, 2, 3});
+        out.close();
+
+        new FileProgressStore(file).write(changes("volume", 30, "brightness", 80));
+        assertEquals(2, new FileProgressStore(file).readAll().size());
+    }
+
+    private static Map<String, Integer> changes(String key1, int value1, String key2, int value2) {
+        HashMap<String, Integer> changes = new HashMap<>();
+        changes.put(key1, value1);
+        changes.put(key2, value2);
+        return changes;
+    }
+}
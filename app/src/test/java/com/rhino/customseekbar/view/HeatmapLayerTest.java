@@ -0,0 +1,128 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.Rect;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the per-pixel aggregation of {@link HeatmapLayer}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class HeatmapLayerTest {
+
+    private static final float DELTA = 1e-3f;
+
+    private HeatmapLayer mLayer;
+
+    @Before
+    public void setUp() {
+        mLayer = new HeatmapLayer();
+        mLayer.setColors(0x00FF0000, 0xFFFF0000);
+        mLayer.setRange(0, 1000);
+        mLayer.setSize(100, false);
+    }
+
+    @Test
+    public void add_aggregatesIntoColumns() {
+        mLayer.add(0, 1);
+        mLayer.add(5, 2);
+        mLayer.add(995, 3);
+        mLayer.add(1000, 4);
+
+        assertTrue(mLayer.isEnabled());
+        assertEquals(3, mLayer.getColumn(0), DELTA);
+        assertEquals(7, mLayer.getColumn(99), DELTA);
+        assertEquals(10, sum(), DELTA);
+    }
+
+    @Test
+    public void add_outOfRangeIgnored() {
+        mLayer.add(-1, 1);
+        mLayer.add(1001, 1);
+
+        assertFalse(mLayer.isEnabled());
+        assertEquals(0, sum(), DELTA);
+    }
+
+    @Test
+    public void resize_rebinsAndKeepsTotal() {
+        for (int i = 0; i <= 1000; i += 7) {
+            mLayer.add(i, 1 + i % 3);
+        }
+        float total = sum();
+
+        mLayer.setSize(333, false);
+        assertEquals(333, mLayer.getCount());
+        assertEquals(total, sum(), total * DELTA);
+
+        mLayer.setSize(40, true);
+        assertEquals(40, mLayer.getCount());
+        assertEquals(total, sum(), total * DELTA);
+    }
+
+    @Test
+    public void range_rebinsAndDropsOutside() {
+        mLayer.add(100, 1);
+        mLayer.add(900, 1);
+
+        mLayer.setRange(0, 500);
+        assertEquals(1, sum(), DELTA);
+        assertEquals(1, mLayer.getColumn(20) + mLayer.getColumn(21), DELTA);
+    }
+
+    @Test
+    public void clear_removesAll() {
+        mLayer.add(500, 1);
+        mLayer.clear();
+
+        assertFalse(mLayer.isEnabled());
+        assertEquals(0, sum(), DELTA);
+    }
+
+    @Test
+    public void draw_oneBitmapPerFrame() {
+        RecordingCanvas canvas = new RecordingCanvas();
+        mLayer.add(500, 1);
+        mLayer.draw(canvas, new Rect(0, 0, 100, 4), 0, 1000);
+        mLayer.add(600, 1);
+        mLayer.draw(canvas, new Rect(0, 0, 100, 4), 250, 750);
+
+        assertEquals(2, canvas.bitmapCount);
+    }
+
+    @Test
+    public void seekBar_drawsHeatmapOnlyWithData() {
+        CustomSeekBar seekBar = new CustomSeekBar(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(600, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 600, 100);
+        RecordingCanvas canvas = new RecordingCanvas();
+        seekBar.onDraw(canvas);
+        assertEquals(0, canvas.bitmapCount);
+
+        seekBar.addHeatmap(50, 1);
+        canvas.reset();
+        seekBar.onDraw(canvas);
+        assertEquals(1, canvas.bitmapCount);
+        assertEquals(canvas.saveCount, canvas.restoreCount);
+    }
+
+    private float sum() {
+        float sum = 0;
+        for (int i = 0; i < mLayer.getCount(); i++) {
+            sum += mLayer.getColumn(i);
+        }
+        return sum;
+    }
+}
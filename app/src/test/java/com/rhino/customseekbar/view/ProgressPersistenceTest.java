@@ -0,0 +1,157 @@
+package com.rhino.customseekbar.view;
+
+import android.os.Looper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.util.Scheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the write-behind of {@link ProgressPersistence}, the reads and writes run on
+ * the main looper whose scheduler is driven by the test.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class ProgressPersistenceTest {
+
+    private static final long FLUSH_DELAY = 1000;
+
+    private Scheduler mScheduler;
+    private FakeStore mStore;
+    private ProgressPersistence mPersistence;
+    private CustomSeekBar mSeekBar;
+
+    @Before
+    public void setUp() {
+        mScheduler = Robolectric.getForegroundThreadScheduler();
+        mScheduler.pause();
+        mStore = new FakeStore();
+        mSeekBar = new CustomSeekBar(RuntimeEnvironment.application);
+    }
+
+    @After
+    public void tearDown() {
+        mScheduler.unPause();
+    }
+
+    @Test
+    public void dragEvents_coalescedIntoOneDelayedWrite() {
+        createPersistence();
+        runPending();
+        for (int progress = 10; progress <= 50; progress += 10) {
+            mPersistence.onProgressChanged("volume", progress, false);
+        }
+        runPending();
+        assertEquals(0, mStore.mWrites.size());
+
+        mScheduler.advanceBy(FLUSH_DELAY, TimeUnit.MILLISECONDS);
+        assertEquals(1, mStore.mWrites.size());
+        assertEquals(50, (int) mStore.mWrites.get(0).get("volume"));
+    }
+
+    @Test
+    public void finished_writesImmediately() {
+        createPersistence();
+        runPending();
+        mPersistence.onProgressChanged("volume", 10, false);
+        mPersistence.onProgressChanged("volume", 20, true);
+        runPending();
+
+        assertEquals(1, mStore.mWrites.size());
+        assertEquals(20, (int) mStore.mWrites.get(0).get("volume"));
+    }
+
+    @Test
+    public void restore_appliesValuesWithoutWritingBack() {
+        mStore.mValues.put("volume", 42);
+        createPersistence();
+        mPersistence.bind(mSeekBar, "volume");
+        runPending();
+
+        assertEquals(42, mSeekBar.getProgress());
+        mScheduler.advanceBy(FLUSH_DELAY * 2, TimeUnit.MILLISECONDS);
+        assertEquals(0, mStore.mWrites.size());
+    }
+
+    @Test
+    public void changeBeforeRestore_keepsNewerValue() {
+        mStore.mValues.put("volume", 42);
+        createPersistence();
+        mPersistence.bind(mSeekBar, "volume");
+        mSeekBar.setProgress(7);
+        runPending();
+
+        assertEquals(7, mSeekBar.getProgress());
+        mScheduler.advanceBy(FLUSH_DELAY, TimeUnit.MILLISECONDS);
+        assertEquals(1, mStore.mWrites.size());
+        assertEquals(7, (int) mStore.mWrites.get(0).get("volume"));
+    }
+
+    @Test
+    public void failedWrite_retriedByNextFlush() {
+        createPersistence();
+        runPending();
+        mStore.mFailures = 1;
+        mPersistence.onProgressChanged("volume", 10, true);
+        runPending();
+        assertEquals(0, mStore.mWrites.size());
+
+        mPersistence.onProgressChanged("brightness", 80, true);
+        runPending();
+        assertEquals(1, mStore.mWrites.size());
+        assertEquals(10, (int) mStore.mWrites.get(0).get("volume"));
+        assertEquals(80, (int) mStore.mWrites.get(0).get("brightness"));
+    }
+
+    private void createPersistence() {
+        mPersistence = new ProgressPersistence(mStore, Looper.getMainLooper());
+        mPersistence.setFlushDelay(FLUSH_DELAY);
+    }
+
+    /**
+     * Run the tasks which are due now.
+     */
+    private void runPending() {
+        mScheduler.advanceBy(0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The store in memory, the writes are recorded.
+     */
+    private static class FakeStore implements ProgressStore {
+
+        final HashMap<String, Integer> mValues = new HashMap<>();
+        final List<Map<String, Integer>> mWrites = new ArrayList<>();
+        int mFailures;
+
+        @Override
+        public Map<String, Integer> readAll() {
+            return new HashMap<>(mValues);
+        }
+
+        @Override
+        public void write(Map<String, Integer> changes) throws IOException {
+            if (mFailures > 0) {
+                mFailures--;
+                throw new IOException("Failed");
+            }
+            mWrites.add(new HashMap<>(changes));
+            mValues.putAll(changes);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * A canvas which draws nothing, only counts the draw operations and
+ * records the bounds of texts.
+ */
+class RecordingCanvas extends Canvas {
+
+    private static final int MAX_SAVE_DEPTH = 16;
+
+    int saveCount;
+    int restoreCount;
+    int circleCount;
+    int rectCount;
+    int pathCount;
+    int arcCount;
+    int textCount;
+    int bitmapCount;
+    final RectF textBounds = new RectF(); // the union of text boxes, in the coordinates before translate
+
+    private final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+    private final float[] mSavedTranslate = new float[2 * MAX_SAVE_DEPTH];
+    private int mSaveDepth;
+    private float mTranslateX;
+    private float mTranslateY;
+
+    /**
+     * Reset all counters.
+     */
+    void reset() {
+        saveCount = 0;
+        restoreCount = 0;
+        circleCount = 0;
+        rectCount = 0;
+        pathCount = 0;
+        arcCount = 0;
+        textCount = 0;
+        bitmapCount = 0;
+        textBounds.setEmpty();
+        mSaveDepth = 0;
+        mTranslateX = 0;
+        mTranslateY = 0;
+    }
+
+    /**
+     * Get the count of all draw operations.
+     *
+     * @return the count
+     */
+    int getDrawCount() {
+        return circleCount + rectCount + pathCount + arcCount + textCount + bitmapCount;
+    }
+
+    @Override
+    public int save() {
+        mSavedTranslate[2 * mSaveDepth] = mTranslateX;
+        mSavedTranslate[2 * mSaveDepth + 1] = mTranslateY;
+        mSaveDepth++;
+        return ++saveCount;
+    }
+
+    @Override
+    public void restore() {
+        mSaveDepth--;
+        mTranslateX = mSavedTranslate[2 * mSaveDepth];
+        mTranslateY = mSavedTranslate[2 * mSaveDepth + 1];
+        restoreCount++;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        mTranslateX += dx;
+        mTranslateY += dy;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        circleCount++;
+    }
+
+    @Override
+    public void drawRect(Rect r, Paint paint) {
+        rectCount++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        rectCount++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        rectCount++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        rectCount++;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        pathCount++;
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        arcCount++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        textCount++;
+        float width = paint.measureText(text);
+        float left = x + mTranslateX;
+        if (Paint.Align.CENTER == paint.getTextAlign()) {
+            left -= width / 2;
+        } else if (Paint.Align.RIGHT == paint.getTextAlign()) {
+            left -= width;
+        }
+        paint.getFontMetrics(mFontMetrics);
+        float top = y + mTranslateY + mFontMetrics.ascent;
+        float bottom = y + mTranslateY + mFontMetrics.descent;
+        if (1 == textCount) {
+            textBounds.set(left, top, left + width, bottom);
+        } else {
+            textBounds.set(Math.min(textBounds.left, left), Math.min(textBounds.top, top),
+                    Math.max(textBounds.right, left + width), Math.max(textBounds.bottom, bottom));
+        }
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        bitmapCount++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        bitmapCount++;
+    }
+}
@@ -0,0 +1,82 @@
+package com.rhino.customseekbar.view;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of {@link SeekBarRenderer} and {@link BitmapPool}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class SeekBarRendererTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 40;
+
+    @Test
+    public void render_reusesReleasedBitmap() {
+        BitmapPool pool = new BitmapPool();
+        SeekBarRenderer renderer = new SeekBarRenderer(RuntimeEnvironment.application, null,
+                WIDTH, HEIGHT, pool);
+        renderer.edit().setMaxProgress(240).apply();
+
+        Bitmap first = renderer.render(0);
+        assertEquals(WIDTH, first.getWidth());
+        assertEquals(HEIGHT, first.getHeight());
+        pool.release(first);
+        for (int second = 1; second <= 240; second++) {
+            Bitmap bitmap = renderer.render(second);
+            assertSame(first, bitmap);
+            pool.release(bitmap);
+        }
+    }
+
+    @Test
+    public void render_onWorkerThread() throws Exception {
+        final Bitmap[] result = new Bitmap[1];
+        final Throwable[] error = new Throwable[1];
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    SeekBarRenderer renderer = new SeekBarRenderer(RuntimeEnvironment.application, null,
+                            WIDTH, HEIGHT, new BitmapPool());
+                    renderer.edit().setMaxProgress(100).apply();
+                    result[0] = renderer.render(50);
+                } catch (Throwable t) {
+                    error[0] = t;
+                }
+            }
+        }, "renderer");
+        worker.start();
+        worker.join();
+
+        assertNull(String.valueOf(error[0]), error[0]);
+        assertNotNull(result[0]);
+        assertEquals(WIDTH, result[0].getWidth());
+        assertEquals(HEIGHT, result[0].getHeight());
+    }
+
+    @Test
+    public void pool_keepsBitmapsBySize() {
+        BitmapPool pool = new BitmapPool(1);
+        Bitmap small = pool.acquire(10, 10);
+        Bitmap large = pool.acquire(20, 20);
+        pool.release(small);
+        assertNotSame(small, pool.acquire(20, 20));
+
+        pool.release(large);
+        assertSame(large, pool.acquire(20, 20));
+    }
+}
@@ -0,0 +1,115 @@
+package com.rhino.customseekbar.view;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replay the recorded gestures in test resources "traces/" and report their cost,
+ * a report per trace is written to "build/reports/touch-traces/".
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class TouchTraceReplayTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 100;
+    private static final int MAX_INVALIDATIONS_PER_EVENT = 2;
+    private static final int MAX_DRAW_CALLS_PER_EVENT = 3; // background, progress, thumb
+    private static final File REPORT_DIR = new File("build/reports/touch-traces");
+
+    @Test
+    public void trace_writeAndReadBack() throws Exception {
+        TouchTrace trace = new TouchTrace(WIDTH, HEIGHT);
+        trace.add(MotionEvent.ACTION_DOWN, 1000, 10f, 50f);
+        trace.add(MotionEvent.ACTION_MOVE, 1016, 20.5f, 51f);
+        trace.add(MotionEvent.ACTION_UP, 1100, 300f, 49f);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.writeTo(out);
+
+        TouchTrace read = TouchTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(WIDTH, read.getViewWidth());
+        assertEquals(HEIGHT, read.getViewHeight());
+        assertEquals(trace.size(), read.size());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(trace.getAction(i), read.getAction(i));
+            assertEquals(trace.getTime(i), read.getTime(i));
+            assertEquals(trace.getX(i), read.getX(i), 0f);
+            assertEquals(trace.getY(i), read.getY(i), 0f);
+        }
+    }
+
+    @Test
+    public void corpus_replaysDeterministicallyWithinBudget() throws Exception {
+        URL url = getClass().getClassLoader().getResource("traces");
+        assertNotNull(url);
+        File[] files = new File(url.toURI()).listFiles();
+        assertNotNull(files);
+        assertTrue(files.length > 0);
+        for (File file : files) {
+            TouchTrace trace = readTrace(file);
+            TouchTraceReplayer.Report first = TouchTraceReplayer.replay(createSeekBar(), trace);
+            TouchTraceReplayer.Report second = TouchTraceReplayer.replay(createSeekBar(), trace);
+
+            String name = file.getName();
+            writeReport(name, first);
+            assertEquals(name, first.finalProgress, second.finalProgress);
+            assertEquals(name, first.totalInvalidations(), second.totalInvalidations());
+            assertEquals(name, first.totalListenerCalls(), second.totalListenerCalls());
+            assertTrue(name, first.totalListenerCalls() <= first.size());
+            for (int i = 0; i < first.size(); i++) {
+                assertTrue(name + " event " + i + " invalidates " + first.invalidations[i],
+                        first.invalidations[i] <= MAX_INVALIDATIONS_PER_EVENT);
+                assertTrue(name + " event " + i + " draws " + first.drawCalls[i],
+                        first.drawCalls[i] <= MAX_DRAW_CALLS_PER_EVENT);
+            }
+        }
+    }
+
+    private static CountingSeekBar createSeekBar() {
+        CountingSeekBar seekBar = new CountingSeekBar(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, WIDTH, HEIGHT);
+        return seekBar;
+    }
+
+    private static void writeReport(String traceName, TouchTraceReplayer.Report report) throws Exception {
+        assertTrue(REPORT_DIR.isDirectory() || REPORT_DIR.mkdirs());
+        String name = traceName.endsWith(".csbt")
+                ? traceName.substring(0, traceName.length() - ".csbt".length()) : traceName;
+        Writer writer = new FileWriter(new File(REPORT_DIR, name + ".txt"));
+        try {
+            report.writeTo(writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static TouchTrace readTrace(File file) throws Exception {
+        InputStream in = new FileInputStream(file);
+        try {
+            return TouchTrace.readFrom(in);
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.rhino.customseekbar.view;
+
+import android.view.MotionEvent;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Replay a {@link TouchTrace} against a headless {@link CustomSeekBar}, and measure the
+ * cost of every event: onTouchEvent, the frame drawn if invalidated, listener calls
+ * and allocated bytes.
+ */
+class TouchTraceReplayer {
+
+    private TouchTraceReplayer() {
+    }
+
+    /**
+     * Replay the trace, the coordinates are scaled to the size of seek bar.
+     *
+     * @param seekBar the seek bar which is laid out
+     * @param trace   the trace
+     * @return the report
+     */
+    static Report replay(CountingSeekBar seekBar, TouchTrace trace) {
+        int count = trace.size();
+        Report report = new Report(count);
+        RecordingCanvas canvas = new RecordingCanvas();
+        final int[] listenerCalls = new int[1];
+        seekBar.setOnProgressChangedListener(new CustomSeekBar.OnProgressChangedListener() {
+            @Override
+            public void onChanged(CustomSeekBar seekBar, boolean fromUser, boolean isFinished) {
+                listenerCalls[0]++;
+            }
+        });
+
+        float scaleX = (float) seekBar.getWidth() / trace.getViewWidth();
+        float scaleY = (float) seekBar.getHeight() / trace.getViewHeight();
+        long downTime = 0;
+        for (int i = 0; i < count; i++) {
+            int action = trace.getAction(i);
+            long time = trace.getTime(i);
+            if (MotionEvent.ACTION_DOWN == action) {
+                downTime = time;
+            }
+            MotionEvent event = MotionEvent.obtain(downTime, time, action,
+                    trace.getX(i) * scaleX, trace.getY(i) * scaleY, 0);
+            int invalidateCount = seekBar.getInvalidateCount();
+            int listenerCount = listenerCalls[0];
+            long allocated = allocatedBytes();
+
+            long start = System.nanoTime();
+            seekBar.dispatchTouchEvent(event);
+            long touched = System.nanoTime();
+            boolean invalidated = seekBar.getInvalidateCount() != invalidateCount;
+            if (invalidated) {
+                canvas.reset();
+                seekBar.onDraw(canvas);
+            }
+            long drawn = System.nanoTime();
+
+            report.eventNanos[i] = touched - start;
+            report.drawNanos[i] = drawn - touched;
+            report.allocatedBytes[i] = allocated < 0 ? -1 : allocatedBytes() - allocated;
+            report.invalidations[i] = seekBar.getInvalidateCount() - invalidateCount;
+            report.listenerCalls[i] = listenerCalls[0] - listenerCount;
+            report.drawCalls[i] = invalidated ? canvas.getDrawCount() : 0;
+            event.recycle();
+        }
+        report.finalProgress = seekBar.getProgress();
+        return report;
+    }
+
+    /**
+     * Return the bytes allocated by current thread, -1 if not supported.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The per-event cost of a replay.
+     */
+    static class Report {
+
+        final long[] eventNanos;
+        final long[] drawNanos;
+        final long[] allocatedBytes;
+        final int[] invalidations;
+        final int[] listenerCalls;
+        final int[] drawCalls;
+        int finalProgress;
+
+        Report(int count) {
+            eventNanos = new long[count];
+            drawNanos = new long[count];
+            allocatedBytes = new long[count];
+            invalidations = new int[count];
+            listenerCalls = new int[count];
+            drawCalls = new int[count];
+        }
+
+        int size() {
+            return eventNanos.length;
+        }
+
+        int totalInvalidations() {
+            return sum(invalidations);
+        }
+
+        int totalListenerCalls() {
+            return sum(listenerCalls);
+        }
+
+        @Override
+        public String toString() {
+            return "events=" + size()
+                    + ", touch p50/max=" + percentile(eventNanos, 50) / 1000 + "/" + percentile(eventNanos, 100) / 1000 + "us"
+                    + ", draw p50/max=" + percentile(drawNanos, 50) / 1000 + "/" + percentile(drawNanos, 100) / 1000 + "us"
+                    + ", invalidations=" + totalInvalidations()
+                    + ", listenerCalls=" + totalListenerCalls()
+                    + ", drawCalls=" + sum(drawCalls)
+                    + ", allocated p50/max=" + percentile(allocatedBytes, 50) + "/" + percentile(allocatedBytes, 100) + "B"
+                    + ", finalProgress=" + finalProgress;
+        }
+
+        /**
+         * Write the summary and one line per event.
+         */
+        void writeTo(Writer writer) throws IOException {
+            PrintWriter out = new PrintWriter(writer);
+            out.println(this);
+            out.println("event\ttouchNs\tdrawNs\tallocatedB\tinvalidations\tlistenerCalls\tdrawCalls");
+            for (int i = 0; i < size(); i++) {
+                out.println(i + "\t" + eventNanos[i] + "\t" + drawNanos[i] + "\t" + allocatedBytes[i]
+                        + "\t" + invalidations[i] + "\t" + listenerCalls[i] + "\t" + drawCalls[i]);
+            }
+            out.flush();
+            if (out.checkError()) {
+                throw new IOException("write report failed");
+            }
+        }
+
+        private static int sum(int[] values) {
+            int sum = 0;
+            for (int value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        private static long percentile(long[] values, int percent) {
+            if (values.length == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(values, values.length);
+            Arrays.sort(sorted);
+            return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+        }
+    }
+}